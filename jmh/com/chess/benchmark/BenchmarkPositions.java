@@ -0,0 +1,44 @@
+package com.chess.benchmark;
+
+import com.chess.game.board.Board;
+import com.chess.game.board.FenUtils;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+public class BenchmarkPositions {
+
+    //opening, middlegame and endgame positions as they come up in real games plus the perft reference positions
+    public static final List<String> CORPUS = ImmutableList.of(
+            FenUtils.STANDARD_BOARD_FEN,
+            "rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2",
+            "r1bqkbnr/1ppp1ppp/p1n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 0 4",
+            "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP3PPP/R2QKB1R w KQ - 0 8",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "2r2rk1/pp3ppp/2n1b3/q2p4/3P4/P1PB1N2/5PPP/R2Q1RK1 b - - 0 16",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "8/5pk1/6p1/8/3R4/6P1/5PKP/3r4 w - - 0 40",
+            "6k1/5ppp/8/8/8/8/5PPP/3R2K1 b - - 0 30");
+
+    //positions where the side to move is in check, mated or stalemated, the inputs of the game termination checks
+    public static final List<String> TERMINAL_CORPUS = ImmutableList.of(
+            "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3",
+            "r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR b KQkq - 0 4",
+            "rnbqkbnr/ppp2ppp/8/1B1pp3/4P3/8/PPPP1PPP/RNBQK1NR b KQkq - 1 3",
+            "3R2k1/5ppp/8/8/8/8/5PPP/6K1 b - - 1 30",
+            "7k/5Q2/6K1/8/8/8/8/8 b - - 0 60",
+            "4k3/4Q3/4K3/8/8/8/8/8 b - - 0 60");
+
+    private BenchmarkPositions() {
+        throw new RuntimeException("Cannot instantiate Benchmark Positions!");
+    }
+
+    public static Board[] createBoards(final List<String> fens) {
+        final Board[] boards = new Board[fens.size()];
+        for(int i = 0; i < boards.length; i++) {
+            boards[i] = FenUtils.createGameFromFEN(fens.get(i));
+        }
+        return boards;
+    }
+}
@@ -0,0 +1,42 @@
+package com.chess.benchmark;
+
+import com.chess.game.board.Board;
+import com.chess.game.piece.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    private Board.Builder[] builders;
+
+    @Setup
+    public void setup() {
+        final Board[] boards = BenchmarkPositions.createBoards(BenchmarkPositions.CORPUS);
+        this.builders = new Board.Builder[boards.length];
+        for(int i = 0; i < boards.length; i++) {
+            final Board.Builder builder = new Board.Builder();
+            for(final Piece piece : boards[i].getAllPieces()) {
+                builder.setPiece(piece);
+            }
+            builder.setMoveMaker(boards[i].getNextMoveMaker());
+            builder.setEnPassantPawn(boards[i].getEnPassantPawn());
+            this.builders[i] = builder;
+        }
+    }
+
+    @Benchmark
+    public Board initializeStandardBoard() {
+        return Board.initializeStandardBoard();
+    }
+
+    @Benchmark
+    public void build(final Blackhole blackhole) {
+        for(final Board.Builder builder : this.builders) {
+            blackhole.consume(builder.build());
+        }
+    }
+}
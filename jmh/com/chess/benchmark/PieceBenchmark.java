@@ -0,0 +1,59 @@
+package com.chess.benchmark;
+
+import com.chess.game.board.Board;
+import com.chess.game.board.MoveList;
+import com.chess.game.piece.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Thread)
+public class PieceBenchmark {
+
+    @Param({"ROOK", "KNIGHT", "BISHOP", "QUEEN", "KING", "PAWN"})
+    private Piece.PieceType pieceType;
+
+    private Board[] boards;
+    private Piece[] pieces;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setup() {
+        final List<Board> boardList = new ArrayList<>();
+        final List<Piece> pieceList = new ArrayList<>();
+        for(final Board board : BenchmarkPositions.createBoards(BenchmarkPositions.CORPUS)) {
+            for(final Piece piece : board.getAllPieces()) {
+                if(piece.getPieceType() == this.pieceType) {
+                    boardList.add(board);
+                    pieceList.add(piece);
+                }
+            }
+        }
+        this.boards = boardList.toArray(new Board[0]);
+        this.pieces = pieceList.toArray(new Piece[0]);
+    }
+
+    @Benchmark
+    public void legalMoves(final Blackhole blackhole) {
+        for(int i = 0; i < this.pieces.length; i++) {
+            blackhole.consume(this.pieces[i].legalMoves(this.boards[i]));
+        }
+    }
+
+    //reuses one buffer, so the allocation rate reported by the GC profiler should stay at zero, which
+    //Perft --check-allocation verifies
+    @Benchmark
+    public void legalMovesIntoBuffer(final Blackhole blackhole) {
+        for(int i = 0; i < this.pieces.length; i++) {
+            this.moves.clear();
+            this.pieces[i].legalMoves(this.boards[i], this.moves);
+            blackhole.consume(this.moves.size());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.chess.benchmark;
+
+import com.chess.game.board.Board;
+import com.chess.game.board.Move;
+import com.chess.game.board.MoveList;
+import com.chess.game.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.stream.Stream;
+
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    private Board[] boards;
+    private Board.Builder[] checkMateBuilders;
+    private Move[][] moves;
+    private final MoveList moveBuffer = new MoveList();
+
+    @Setup
+    public void setup() {
+        this.boards = BenchmarkPositions.createBoards(BenchmarkPositions.CORPUS);
+        //the terminal positions first, then the ordinary ones, rebuilt for every call of isInCheckMate
+        this.checkMateBuilders = Stream.concat(
+                        Stream.of(BenchmarkPositions.createBoards(BenchmarkPositions.TERMINAL_CORPUS)),
+                        Stream.of(this.boards))
+                .map(PlayerBenchmark::createBuilder)
+                .toArray(Board.Builder[]::new);
+        //the boards keep their move lists once computed, so makeMove, generateLegalMoves and createMove measure the
+        //work done per call on warm boards
+        this.moves = new Move[this.boards.length][];
+        for(int i = 0; i < this.boards.length; i++) {
+            this.moves[i] = ImmutableList.copyOf(this.boards[i].getCurrentPlayer().getLegalMoves()).toArray(new Move[0]);
+        }
+    }
+
+    @Benchmark
+    public void makeMove(final Blackhole blackhole) {
+        for(int i = 0; i < this.boards.length; i++) {
+            for(final Move move : this.moves[i]) {
+                final MoveTransition transition = this.boards[i].getCurrentPlayer().makeMove(move);
+                blackhole.consume(transition.getTransitionBoard());
+            }
+        }
+    }
+
+    //the players keep their check and pin filter, so generating into the reused buffer should not allocate
+    @Benchmark
+    public void generateLegalMoves(final Blackhole blackhole) {
+        for(final Board board : this.boards) {
+            this.moveBuffer.clear();
+            board.getCurrentPlayer().generateLegalMoves(this.moveBuffer);
+            blackhole.consume(this.moveBuffer.size());
+        }
+    }
+
+    //a board remembers whether it is in check and what its legal moves are, so asking the same boards again would
+    //only time two memoized lookups; every call gets fresh boards instead, buildCheckMateBoards is the share of that
+    @Benchmark
+    public void isInCheckMate(final Blackhole blackhole) {
+        for(final Board.Builder builder : this.checkMateBuilders) {
+            blackhole.consume(builder.build().getCurrentPlayer().isInCheckMate());
+        }
+    }
+
+    @Benchmark
+    public void buildCheckMateBoards(final Blackhole blackhole) {
+        for(final Board.Builder builder : this.checkMateBuilders) {
+            blackhole.consume(builder.build());
+        }
+    }
+
+    @Benchmark
+    public void createMove(final Blackhole blackhole) {
+        for(int i = 0; i < this.boards.length; i++) {
+            for(final Move move : this.moves[i]) {
+                blackhole.consume(Move.MoveFactory.createMove(this.boards[i],
+                        move.getCurrentCoordinate(), move.getDestinationCoordinate()));
+            }
+        }
+    }
+
+    private static Board.Builder createBuilder(final Board board) {
+        final Board.Builder builder = new Board.Builder(board);
+        builder.setEnPassantPawn(board.getEnPassantPawn());
+        builder.setHalfMoveClock(board.getHalfMoveClock());
+        return builder;
+    }
+}
@@ -0,0 +1,44 @@
+package com.chess.benchmark;
+
+import com.chess.engine.AlphaBetaSearch;
+import com.chess.engine.HeapTranspositionTable;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.StandardBoardEvaluator;
+import com.chess.engine.TranspositionTable;
+import com.chess.game.board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    @Param({"3", "4"})
+    private int depth;
+
+    private Board[] boards;
+    private SearchLimits limits;
+    private TranspositionTable transpositionTable;
+    private AlphaBetaSearch search;
+
+    @Setup
+    public void setup() {
+        this.boards = BenchmarkPositions.createBoards(BenchmarkPositions.CORPUS);
+        this.limits = new SearchLimits.Builder().setDepth(this.depth).build();
+        //small enough that clearing it costs next to nothing against a search
+        this.transpositionTable = new HeapTranspositionTable(1);
+        this.search = new AlphaBetaSearch(new StandardBoardEvaluator(), this.transpositionTable);
+    }
+
+    //every search starts from scratch, so the time per operation is the time to reach the depth in each position
+    @Benchmark
+    public void search(final Blackhole blackhole) {
+        for(final Board board : this.boards) {
+            this.transpositionTable.clear();
+            blackhole.consume(this.search.search(board, this.limits));
+        }
+    }
+}
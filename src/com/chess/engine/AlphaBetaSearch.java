@@ -0,0 +1,403 @@
+package com.chess.engine;
+
+import com.chess.game.board.Board;
+import com.chess.game.board.BoardUtils;
+import com.chess.game.board.FenUtils;
+import com.chess.game.board.Move;
+import com.chess.game.board.MoveList;
+import com.chess.game.board.MoveOrdering;
+import com.chess.game.board.MoveUtils;
+import com.chess.game.board.StagedMoveGenerator;
+import com.chess.game.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//iterative deepening negamax with alpha-beta and principal variation search, a quiescence search over the captures
+//at the leaves, a transposition table, and killer moves plus the previous iteration's principal variation for move
+//ordering; an instance keeps its buffers between searches and must only be used by one thread at a time, the
+//transposition table it is given may be shared with other instances
+public class AlphaBetaSearch {
+
+    public static final int MAX_DEPTH = 64;
+    public static final int MAX_PLY = 128;
+    public static final int MATE_SCORE = 30000;
+    public static final int INFINITE_SCORE = 32000;
+    public static final int DRAW_SCORE = 0;
+
+    private static final int NO_OF_KILLER_MOVES = 2;
+    //reading the clock costs more than the rest of the checks together, a node is far cheaper than a millisecond
+    private static final int NODES_PER_TIME_CHECK = 64;
+    private static final String USAGE = "usage: AlphaBetaSearch <depth> [fen]   best move, score and principal variation " +
+            "(standard board without a fen)";
+
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveList[] moveLists;
+    private final int[][] killerMoves;
+    private final int[][] principalVariations;
+    private final int[] principalVariationLengths;
+    private final long[] positionKeys;
+    private int[] previousPrincipalVariation;
+    private boolean isFollowingPrincipalVariation;
+    private SearchLimits limits;
+    private AtomicBoolean stopFlag;
+    private AtomicBoolean externalStopFlag;
+    private int rootMove;
+    private long startNanos;
+    private boolean hasCompletedIteration;
+    private long nodes;
+    private boolean isAborted;
+
+    public AlphaBetaSearch() {
+        this(new StandardBoardEvaluator());
+    }
+
+    public AlphaBetaSearch(final BoardEvaluator evaluator) {
+        this(evaluator, new HeapTranspositionTable());
+    }
+
+    public AlphaBetaSearch(final BoardEvaluator evaluator, final TranspositionTable transpositionTable) {
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.moveLists = new MoveList[MAX_PLY + 1];
+        for(int i = 0; i <= MAX_PLY; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+        this.killerMoves = new int[MAX_PLY + 1][NO_OF_KILLER_MOVES];
+        this.principalVariations = new int[MAX_PLY + 1][MAX_PLY + 1];
+        this.principalVariationLengths = new int[MAX_PLY + 1];
+        this.positionKeys = new long[MAX_PLY + 1];
+        this.previousPrincipalVariation = new int[0];
+    }
+
+    //returns the result of the deepest iteration that completed, an aborted iteration is thrown away
+    public SearchResult search(final Board board, final SearchLimits limits) {
+        final long start = System.nanoTime();
+        this.transpositionTable.newSearch();
+        return search(board, limits, 1, new AtomicBoolean(), MoveUtils.NULL_MOVE, start);
+    }
+
+    //a search next to others on the same table, which starts deepening at the given depth and gives up as soon as the
+    //stop flag is set; the caller starts the new search on the table; a root move other than MoveUtils.NULL_MOVE is
+    //the only move searched at the root, the table then has to belong to this search alone, as it keeps the root's
+    //score as if no other move existed; the time limits count from the given start
+    SearchResult search(final Board board, final SearchLimits limits, final int firstDepth,
+                        final AtomicBoolean stopFlag, final int rootMove, final long start) {
+        this.limits = limits;
+        this.stopFlag = stopFlag;
+        this.externalStopFlag = limits.getStopFlag();
+        this.rootMove = rootMove;
+        this.startNanos = start;
+        this.hasCompletedIteration = false;
+        this.nodes = 0L;
+        this.isAborted = false;
+        this.previousPrincipalVariation = new int[0];
+        for(final int[] killers : this.killerMoves) {
+            killers[0] = MoveUtils.NULL_MOVE;
+            killers[1] = MoveUtils.NULL_MOVE;
+        }
+        this.positionKeys[0] = board.getZobristKey();
+
+        SearchResult result = null;
+        for(int depth = Math.min(firstDepth, limits.getDepth()); depth <= limits.getDepth(); depth++) {
+            this.isFollowingPrincipalVariation = true;
+            final int score = search(board, depth, -INFINITE_SCORE, INFINITE_SCORE, 0);
+            if(this.isAborted) {
+                break;
+            }
+            this.previousPrincipalVariation = copyPrincipalVariation();
+            result = createResult(board, score, depth, System.nanoTime() - start);
+            this.hasCompletedIteration = true;
+            //a mate the search can already see will not get any shorter by looking deeper
+            if(isMateScore(score) && MATE_SCORE - Math.abs(score) <= depth) {
+                break;
+            }
+            //the next iteration would take longer than all the ones before it together
+            if(System.nanoTime() - start >= limits.getSoftTimeLimitNanos()) {
+                break;
+            }
+        }
+        return result != null ? result : createFallbackResult(board, System.nanoTime() - start);
+    }
+
+    public static boolean isMateScore(final int score) {
+        return Math.abs(score) >= MATE_SCORE - MAX_PLY;
+    }
+
+    //a mate is scored by its distance from the root, the table keeps the distance from the stored position instead
+    //so that the entry stays right when the position is reached at another ply
+    static int toTableScore(final int score, final int ply) {
+        if(isMateScore(score)) {
+            return score > 0 ? score + ply : score - ply;
+        }
+        return score;
+    }
+
+    static int fromTableScore(final int score, final int ply) {
+        if(isMateScore(score)) {
+            return score > 0 ? score - ply : score + ply;
+        }
+        return score;
+    }
+
+    private int search(final Board board, final int depth, int alpha, final int beta, final int ply) {
+        this.principalVariationLengths[ply] = ply;
+        if(depth <= 0) {
+            return quiescence(board, alpha, beta, ply);
+        }
+        if(!countNode()) {
+            return DRAW_SCORE;
+        }
+        if(ply > 0 && isDraw(board, ply)) {
+            return DRAW_SCORE;
+        }
+        if(ply >= MAX_PLY) {
+            return this.evaluator.evaluate(board);
+        }
+
+        //the principal variation is never cut short by the table, only the null window searches next to it are
+        final boolean isPrincipalVariationNode = beta - alpha > 1;
+        final long positionKey = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(positionKey);
+        if(entry != TranspositionUtils.NO_ENTRY && !isPrincipalVariationNode &&
+                TranspositionUtils.getDepth(entry) >= depth) {
+            final int tableScore = fromTableScore(TranspositionUtils.getScore(entry), ply);
+            final int bound = TranspositionUtils.getBound(entry);
+            if(bound == TranspositionUtils.EXACT || (bound == TranspositionUtils.LOWER_BOUND && tableScore >= beta) ||
+                    (bound == TranspositionUtils.UPPER_BOUND && tableScore <= alpha)) {
+                return tableScore;
+            }
+        }
+
+        final Player player = board.getCurrentPlayer();
+        final boolean isInCheck = player.isInCheck();
+        //a check is searched one ply deeper so that forced sequences are not cut off at the horizon
+        final int searchDepth = isInCheck ? depth + 1 : depth;
+        final int bestMoveHint = this.isFollowingPrincipalVariation && ply < this.previousPrincipalVariation.length ?
+                this.previousPrincipalVariation[ply] : TranspositionUtils.getMove(entry);
+        final StagedMoveGenerator generator = new StagedMoveGenerator(board, this.moveLists[ply], bestMoveHint,
+                this.killerMoves[ply]);
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITE_SCORE;
+        int bestMove = MoveUtils.NULL_MOVE;
+        int searchedMoves = 0;
+        int move;
+        while((move = generator.next()) != MoveUtils.NULL_MOVE) {
+            if(ply == 0 && this.rootMove != MoveUtils.NULL_MOVE && move != this.rootMove) {
+                continue;
+            }
+            final Board transitionBoard = player.makeFilteredMove(move).getTransitionBoard();
+            if(move != bestMoveHint) {
+                this.isFollowingPrincipalVariation = false;
+            }
+            this.positionKeys[ply + 1] = transitionBoard.getZobristKey();
+            int score;
+            if(searchedMoves == 0) {
+                score = -search(transitionBoard, searchDepth - 1, -beta, -alpha, ply + 1);
+            } else {
+                //every move after the first is expected to fail low, only one that does not is searched again in full
+                score = -search(transitionBoard, searchDepth - 1, -alpha - 1, -alpha, ply + 1);
+                if(score > alpha && score < beta) {
+                    score = -search(transitionBoard, searchDepth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            this.isFollowingPrincipalVariation = false;
+            searchedMoves++;
+            if(this.isAborted) {
+                return DRAW_SCORE;
+            }
+            if(score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if(score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if(score >= beta) {
+                        if(!MoveUtils.isAttack(move) && !MoveUtils.isPromotion(move)) {
+                            storeKillerMove(ply, move);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if(searchedMoves == 0) {
+            bestScore = isInCheck ? -MATE_SCORE + ply : DRAW_SCORE;
+        }
+        final int bound = bestScore >= beta ? TranspositionUtils.LOWER_BOUND :
+                bestScore > originalAlpha ? TranspositionUtils.EXACT : TranspositionUtils.UPPER_BOUND;
+        //a search that failed low has no move worth remembering, the table keeps whatever it knew before
+        this.transpositionTable.store(positionKey, depth, bound, toTableScore(bestScore, ply),
+                bound == TranspositionUtils.UPPER_BOUND ? MoveUtils.NULL_MOVE : bestMove);
+        return bestScore;
+    }
+
+    //only captures that do not lose material are searched until the position is quiet, unless the side to move is in
+    //check, where every evasion has to be looked at to tell a mate
+    private int quiescence(final Board board, int alpha, final int beta, final int ply) {
+        this.principalVariationLengths[ply] = ply;
+        if(!countNode()) {
+            return DRAW_SCORE;
+        }
+        if(isDraw(board, ply)) {
+            return DRAW_SCORE;
+        }
+        if(ply >= MAX_PLY) {
+            return this.evaluator.evaluate(board);
+        }
+
+        final Player player = board.getCurrentPlayer();
+        final boolean isInCheck = player.isInCheck();
+        final MoveList moves = this.moveLists[ply];
+        int bestScore = -INFINITE_SCORE;
+        if(isInCheck) {
+            moves.clear();
+            player.generateLegalMoves(moves);
+            if(moves.isEmpty()) {
+                return -MATE_SCORE + ply;
+            }
+        } else {
+            bestScore = this.evaluator.evaluate(board);
+            if(bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+            moves.clear();
+            board.generateCaptures(board.getNextMoveMaker(), moves);
+            player.getLegalMoveFilter().filter(moves, 0);
+            MoveOrdering.sortByMvvLva(board, moves, 0);
+        }
+
+        for(int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if(!isInCheck && board.calculateStaticExchange(move) < 0) {
+                continue;
+            }
+            final Board transitionBoard = player.makeFilteredMove(move).getTransitionBoard();
+            this.positionKeys[ply + 1] = transitionBoard.getZobristKey();
+            final int score = -quiescence(transitionBoard, -beta, -alpha, ply + 1);
+            if(this.isAborted) {
+                return DRAW_SCORE;
+            }
+            if(score > bestScore) {
+                bestScore = score;
+                if(score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if(score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    //false once a limit is reached or the search is told to stop, from then on every node returns at once and the
+    //iteration is thrown away; the clock is only looked at once the first iteration completed, so that running out
+    //of time always leaves a searched move to return, which at depth one takes next to no time anyway
+    private boolean countNode() {
+        if(this.isAborted) {
+            return false;
+        }
+        if(++this.nodes > this.limits.getNodeLimit() || this.stopFlag.get() || this.externalStopFlag.get()) {
+            this.isAborted = true;
+            return false;
+        }
+        if(this.hasCompletedIteration && this.nodes % NODES_PER_TIME_CHECK == 0 &&
+                System.nanoTime() - this.startNanos >= this.limits.getHardTimeLimitNanos()) {
+            this.isAborted = true;
+            return false;
+        }
+        return true;
+    }
+
+    //the search only knows the positions since its root, so repetitions of earlier game positions are not seen
+    private boolean isDraw(final Board board, final int ply) {
+        if(board.getHalfMoveClock() >= BoardUtils.FIFTY_MOVE_RULE_HALF_MOVES || board.hasInsufficientMaterial()) {
+            return true;
+        }
+        final long positionKey = this.positionKeys[ply];
+        for(int i = ply - 2; i >= Math.max(0, ply - board.getHalfMoveClock()); i -= 2) {
+            if(this.positionKeys[i] == positionKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updatePrincipalVariation(final int ply, final int move) {
+        final int[] principalVariation = this.principalVariations[ply];
+        final int[] childPrincipalVariation = this.principalVariations[ply + 1];
+        principalVariation[ply] = move;
+        final int childLength = this.principalVariationLengths[ply + 1];
+        System.arraycopy(childPrincipalVariation, ply + 1, principalVariation, ply + 1, childLength - ply - 1);
+        this.principalVariationLengths[ply] = childLength;
+    }
+
+    private void storeKillerMove(final int ply, final int move) {
+        final int[] killers = this.killerMoves[ply];
+        if(killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+    }
+
+    private int[] copyPrincipalVariation() {
+        final int[] principalVariation = new int[this.principalVariationLengths[0]];
+        System.arraycopy(this.principalVariations[0], 0, principalVariation, 0, principalVariation.length);
+        return principalVariation;
+    }
+
+    private SearchResult createResult(final Board board, final int score, final int depth, final long elapsedNanos) {
+        final List<Move> principalVariation = new ArrayList<>();
+        Board currentBoard = board;
+        for(final int move : this.previousPrincipalVariation) {
+            final Move principalMove = MoveUtils.toMove(currentBoard, move);
+            principalVariation.add(principalMove);
+            currentBoard = principalMove.execute();
+        }
+        final Move bestMove = principalVariation.isEmpty() ? Move.MoveFactory.getNullMove() : principalVariation.get(0);
+        return new SearchResult(bestMove, score, depth, principalVariation, this.nodes, elapsedNanos);
+    }
+
+    //not even the first iteration completed, so any legal move is as good as another
+    private SearchResult createFallbackResult(final Board board, final long elapsedNanos) {
+        final List<Move> legalMoves = this.rootMove != MoveUtils.NULL_MOVE ?
+                List.of(MoveUtils.toMove(board, this.rootMove)) :
+                new ArrayList<>(board.getCurrentPlayer().getLegalMoves());
+        final Move bestMove = legalMoves.isEmpty() ? Move.MoveFactory.getNullMove() : legalMoves.get(0);
+        final List<Move> principalVariation = legalMoves.isEmpty() ? List.of() : List.of(bestMove);
+        return new SearchResult(bestMove, this.evaluator.evaluate(board), 0, principalVariation, this.nodes,
+                elapsedNanos);
+    }
+
+    public static void main(final String[] args) {
+        if(args.length == 0) {
+            System.out.println(USAGE);
+            return;
+        }
+        try {
+            final int depth = Integer.parseInt(args[0]);
+            final String fen = args.length > 1 ? String.join(" ", List.of(args).subList(1, args.length)) :
+                    FenUtils.STANDARD_BOARD_FEN;
+            final Board board = FenUtils.createGameFromFEN(fen);
+            final SearchResult result = new AlphaBetaSearch().search(board,
+                    new SearchLimits.Builder().setDepth(depth).build());
+            final double seconds = Math.max(result.getElapsedNanos(), 1L) / 1e9;
+            System.out.println(result);
+            System.out.println("Best move: " + (result.getPrincipalVariation().isEmpty() ? "none" :
+                    MoveUtils.toAlgebraic(MoveUtils.encode(result.getBestMove()))));
+            System.out.printf(Locale.ROOT, "Time: %d ms%n", TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()));
+            System.out.printf(Locale.ROOT, "Nodes per second: %.0f%n", result.getNodes() / seconds);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.chess.engine;
+
+import com.chess.game.board.Board;
+
+public interface BoardEvaluator {
+
+    //static score of the position in centipawns, seen from the side to move
+    int evaluate(Board board);
+}
@@ -0,0 +1,51 @@
+package com.chess.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+//the table in one long array on the heap, as large as an array can get
+public class HeapTranspositionTable extends TranspositionTable {
+
+    public static final int MAX_SIZE_IN_MEGABYTES = 8192;
+
+    //opaque access keeps every single long whole and costs no more than a plain one
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private long[] entries;
+
+    public HeapTranspositionTable() {
+        this(DEFAULT_SIZE_IN_MEGABYTES);
+    }
+
+    public HeapTranspositionTable(final int sizeInMegabytes) {
+        resize(sizeInMegabytes);
+    }
+
+    @Override
+    int getMaxSizeInMegabytes() {
+        return MAX_SIZE_IN_MEGABYTES;
+    }
+
+    @Override
+    void allocateEntries(final long noOfLongs) {
+        //the old array goes first, two large tables at once may not fit on the heap
+        this.entries = null;
+        this.entries = new long[Math.toIntExact(noOfLongs)];
+    }
+
+    @Override
+    void clearEntries() {
+        Arrays.fill(this.entries, 0L);
+    }
+
+    @Override
+    long readEntry(final long index) {
+        return (long) ENTRIES.getOpaque(this.entries, (int) index);
+    }
+
+    @Override
+    void writeEntry(final long index, final long value) {
+        ENTRIES.setOpaque(this.entries, (int) index, value);
+    }
+}
@@ -0,0 +1,136 @@
+package com.chess.engine;
+
+import com.chess.game.board.Board;
+import com.chess.game.board.FenUtils;
+import com.chess.game.board.MoveUtils;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//lazy smp: helper threads search the same root as the calling thread without any coordination but the shared
+//transposition table, every result one of them stores saves the others the work; the helpers start deepening one
+//ply apart so that they do not all search the same depth in the same order, and they run until the calling thread
+//has its result, which is the only one returned
+public class LazySmpSearch implements AutoCloseable {
+
+    public static final int MAX_THREADS = 512;
+
+    private static final String USAGE = "usage: LazySmpSearch <threads> <depth> [fen]   best move, score, principal " +
+            "variation and the nodes of every thread (standard board without a fen)";
+
+    private final AlphaBetaSearch mainSearch;
+    private final AlphaBetaSearch[] helperSearches;
+    private final TranspositionTable transpositionTable;
+    private final ExecutorService helperExecutor;
+
+    public LazySmpSearch(final int noOfThreads) {
+        this(noOfThreads, new StandardBoardEvaluator(), new HeapTranspositionTable());
+    }
+
+    //the calling thread is one of the threads, so one thread searches without any helpers
+    public LazySmpSearch(final int noOfThreads, final BoardEvaluator evaluator,
+                         final TranspositionTable transpositionTable) {
+        if(noOfThreads < 1 || noOfThreads > MAX_THREADS) {
+            throw new IllegalArgumentException("Number of threads must be between 1 and " + MAX_THREADS);
+        }
+        this.transpositionTable = transpositionTable;
+        this.mainSearch = new AlphaBetaSearch(evaluator, transpositionTable);
+        this.helperSearches = new AlphaBetaSearch[noOfThreads - 1];
+        for(int i = 0; i < this.helperSearches.length; i++) {
+            this.helperSearches[i] = new AlphaBetaSearch(evaluator, transpositionTable);
+        }
+        this.helperExecutor = this.helperSearches.length == 0 ? null :
+                Executors.newFixedThreadPool(this.helperSearches.length, new ThreadFactoryBuilder()
+                        .setNameFormat("lazy-smp-helper-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    public int getNoOfThreads() {
+        return this.helperSearches.length + 1;
+    }
+
+    //the limits only bind the calling thread, the helpers keep going until it is done; must only be called by one
+    //thread at a time
+    public SearchResult search(final Board board, final SearchLimits limits) {
+        final long start = System.nanoTime();
+        final AtomicBoolean stopFlag = new AtomicBoolean();
+        final SearchLimits helperLimits = new SearchLimits.Builder().build();
+        this.transpositionTable.newSearch();
+        final List<Future<SearchResult>> helperResults = new ArrayList<>(this.helperSearches.length);
+        for(int i = 0; i < this.helperSearches.length; i++) {
+            final AlphaBetaSearch helperSearch = this.helperSearches[i];
+            final int firstDepth = 1 + (i + 1) % 2;
+            helperResults.add(this.helperExecutor.submit(() ->
+                    helperSearch.search(board, helperLimits, firstDepth, stopFlag, MoveUtils.NULL_MOVE, start)));
+        }
+
+        final SearchResult result;
+        try {
+            result = this.mainSearch.search(board, limits, 1, stopFlag, MoveUtils.NULL_MOVE, start);
+        } finally {
+            stopFlag.set(true);
+        }
+        final long[] nodesPerThread = new long[getNoOfThreads()];
+        nodesPerThread[0] = result.getNodes();
+        for(int i = 0; i < helperResults.size(); i++) {
+            nodesPerThread[i + 1] = awaitHelper(helperResults.get(i)).getNodes();
+        }
+        return result.withNodesPerThread(nodesPerThread, System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        if(this.helperExecutor != null) {
+            this.helperExecutor.shutdownNow();
+        }
+    }
+
+    private static SearchResult awaitHelper(final Future<SearchResult> helperResult) {
+        try {
+            return helperResult.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the helper threads", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Helper search failed", e.getCause());
+        }
+    }
+
+    public static void main(final String[] args) {
+        if(args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+        try {
+            final int noOfThreads = Integer.parseInt(args[0]);
+            final int depth = Integer.parseInt(args[1]);
+            final String fen = args.length > 2 ? String.join(" ", List.of(args).subList(2, args.length)) :
+                    FenUtils.STANDARD_BOARD_FEN;
+            final Board board = FenUtils.createGameFromFEN(fen);
+            try(final LazySmpSearch search = new LazySmpSearch(noOfThreads)) {
+                final SearchResult result = search.search(board, new SearchLimits.Builder().setDepth(depth).build());
+                final double seconds = Math.max(result.getElapsedNanos(), 1L) / 1e9;
+                System.out.println(result);
+                System.out.println("Best move: " + (result.getPrincipalVariation().isEmpty() ? "none" :
+                        MoveUtils.toAlgebraic(MoveUtils.encode(result.getBestMove()))));
+                System.out.println("Nodes per thread: " + Arrays.toString(result.getNodesPerThread()));
+                System.out.printf(Locale.ROOT, "Time: %d ms%n", TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()));
+                System.out.printf(Locale.ROOT, "Nodes per second: %.0f%n", result.getNodes() / seconds);
+            }
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+        }
+    }
+}
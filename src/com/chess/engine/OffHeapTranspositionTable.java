@@ -0,0 +1,142 @@
+package com.chess.engine;
+
+import sun.misc.Unsafe;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+//the table in direct memory outside the heap, so that even a table of many gigabytes adds nothing for the garbage
+//collector to mark; a direct buffer holds at most two gigabytes, so the entries are spread over chunks of one;
+//the memory is handed back as soon as the table is resized or closed instead of whenever the garbage collector
+//gets around to the buffers, so a table that is no longer needed has to be closed
+public class OffHeapTranspositionTable extends TranspositionTable implements AutoCloseable {
+
+    public static final int MAX_SIZE_IN_MEGABYTES = 1 << 20;
+
+    private static final int CHUNK_SHIFT = 27;
+    private static final long LONGS_PER_CHUNK = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = LONGS_PER_CHUNK - 1;
+    private static final int HUGE_PAGE_SIZE = 2 * 1024 * 1024;
+    private static final byte[] ZEROS = new byte[1024 * 1024];
+    private static final VarHandle ENTRIES = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+    //the only way to free a direct buffer on the spot before the foreign memory api, jdk.unsupported exports it
+    private static final Unsafe UNSAFE = initUnsafe();
+
+    private final boolean isUsingHugePages;
+    //the buffers as they were allocated, only those can be freed, the aligned chunks are slices of them
+    private ByteBuffer[] allocations;
+    private ByteBuffer[] chunks;
+    private boolean isClosed;
+
+    public OffHeapTranspositionTable(final int sizeInMegabytes) {
+        this(sizeInMegabytes, false);
+    }
+
+    //java cannot ask the operating system for huge pages itself, the chunks are only aligned to the two megabyte
+    //pages, so that transparent huge pages can back them completely when the system has them enabled
+    public OffHeapTranspositionTable(final int sizeInMegabytes, final boolean isUsingHugePages) {
+        this.isUsingHugePages = isUsingHugePages;
+        this.allocations = new ByteBuffer[0];
+        this.chunks = new ByteBuffer[0];
+        this.isClosed = false;
+        resize(sizeInMegabytes);
+    }
+
+    public boolean isUsingHugePages() {
+        return this.isUsingHugePages;
+    }
+
+    @Override
+    int getMaxSizeInMegabytes() {
+        return MAX_SIZE_IN_MEGABYTES;
+    }
+
+    //frees the memory right away, afterwards the table can neither be used nor resized again; not safe to call while
+    //a search is using the table
+    @Override
+    public void close() {
+        freeChunks();
+        this.isClosed = true;
+    }
+
+    //the old chunks are freed before the new ones are allocated, so a resize never needs the memory of both
+    @Override
+    void allocateEntries(final long noOfLongs) {
+        checkNotClosed();
+        freeChunks();
+        final int noOfChunks = (int) ((noOfLongs + LONGS_PER_CHUNK - 1) >>> CHUNK_SHIFT);
+        final int chunkBytes = (int) (Math.min(noOfLongs, LONGS_PER_CHUNK) * Long.BYTES);
+        final int alignment = this.isUsingHugePages ? HUGE_PAGE_SIZE : Long.BYTES;
+        final ByteBuffer[] allocations = new ByteBuffer[noOfChunks];
+        final ByteBuffer[] chunks = new ByteBuffer[noOfChunks];
+        try {
+            for(int i = 0; i < noOfChunks; i++) {
+                //fresh direct memory is always zeroed
+                allocations[i] = ByteBuffer.allocateDirect(chunkBytes + alignment);
+                chunks[i] = allocations[i].alignedSlice(alignment);
+            }
+        } catch (final OutOfMemoryError e) {
+            freeAllocations(allocations);
+            throw e;
+        }
+        this.allocations = allocations;
+        this.chunks = chunks;
+    }
+
+    @Override
+    void clearEntries() {
+        checkNotClosed();
+        for(final ByteBuffer chunk : this.chunks) {
+            for(int i = 0; i < chunk.capacity(); i += ZEROS.length) {
+                chunk.put(i, ZEROS, 0, Math.min(ZEROS.length, chunk.capacity() - i));
+            }
+        }
+    }
+
+    @Override
+    long readEntry(final long index) {
+        return (long) ENTRIES.getOpaque(this.chunks[(int) (index >>> CHUNK_SHIFT)],
+                (int) (index & CHUNK_MASK) * Long.BYTES);
+    }
+
+    @Override
+    void writeEntry(final long index, final long value) {
+        ENTRIES.setOpaque(this.chunks[(int) (index >>> CHUNK_SHIFT)], (int) (index & CHUNK_MASK) * Long.BYTES, value);
+    }
+
+    //the chunks are dropped before the memory behind them goes, a late read fails on the empty array instead
+    private void freeChunks() {
+        final ByteBuffer[] allocations = this.allocations;
+        this.chunks = new ByteBuffer[0];
+        this.allocations = new ByteBuffer[0];
+        freeAllocations(allocations);
+    }
+
+    private void checkNotClosed() {
+        if(this.isClosed) {
+            throw new IllegalStateException("Transposition table is closed");
+        }
+    }
+
+    private static void freeAllocations(final ByteBuffer[] allocations) {
+        for(final ByteBuffer allocation : allocations) {
+            if(allocation != null) {
+                UNSAFE.invokeCleaner(allocation);
+            }
+        }
+    }
+
+    private static Unsafe initUnsafe() {
+        try {
+            final Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (Unsafe) field.get(null);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot free direct memory without sun.misc.Unsafe", e);
+        }
+    }
+}
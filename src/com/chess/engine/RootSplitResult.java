@@ -0,0 +1,48 @@
+package com.chess.engine;
+
+import java.util.Locale;
+
+public class RootSplitResult {
+
+    private final SearchResult searchResult;
+    private final int parallelism;
+    private final long busyNanos;
+    private final long steals;
+
+    RootSplitResult(final SearchResult searchResult, final int parallelism, final long busyNanos, final long steals) {
+        this.searchResult = searchResult;
+        this.parallelism = parallelism;
+        this.busyNanos = busyNanos;
+        this.steals = steals;
+    }
+
+    public SearchResult getSearchResult() {
+        return this.searchResult;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    //the time all workers together spent searching root moves
+    public long getBusyNanos() {
+        return this.busyNanos;
+    }
+
+    //how often a worker took a task queued by another one
+    public long getSteals() {
+        return this.steals;
+    }
+
+    //the share of the workers' time between the start and the end of the search they were not searching
+    public double calculateIdleFraction() {
+        final double availableNanos = (double) Math.max(this.searchResult.getElapsedNanos(), 1L) * this.parallelism;
+        return Math.max(0.0, 1.0 - this.busyNanos / availableNanos);
+    }
+
+    @Override
+    public String toString() {
+        return this.searchResult + String.format(Locale.ROOT, " workers %d idle %.1f%% steals %d", this.parallelism,
+                calculateIdleFraction() * 100, this.steals);
+    }
+}
@@ -0,0 +1,161 @@
+package com.chess.engine;
+
+import com.chess.game.board.Board;
+import com.chess.game.board.FenUtils;
+import com.chess.game.board.Move;
+import com.chess.game.board.MoveUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+//searches every legal move of the root on its own, with a search and a transposition table nothing else touches,
+//so the result never depends on how the moves were spread over the workers and a search repeats exactly; the moves
+//are split in halves until a worker holds a single one, and idle workers steal halves that were not started yet;
+//the best score wins and a tie goes to the move that comes first among the root's legal moves
+public class RootSplitSearch implements AutoCloseable {
+
+    public static final int DEFAULT_TABLE_SIZE_IN_MEGABYTES = 4;
+
+    private static final String USAGE = "usage: RootSplitSearch <workers> <depth> [fen]   best move, score, principal " +
+            "variation and how idle the workers were (standard board without a fen)";
+
+    private final ForkJoinPool pool;
+    private final BoardEvaluator evaluator;
+    private final int tableSizeInMegabytes;
+
+    public RootSplitSearch(final int parallelism) {
+        this(parallelism, new StandardBoardEvaluator(), DEFAULT_TABLE_SIZE_IN_MEGABYTES);
+    }
+
+    //every root move gets a table of the given size, the evaluator is shared by all workers
+    public RootSplitSearch(final int parallelism, final BoardEvaluator evaluator, final int tableSizeInMegabytes) {
+        if(parallelism < 1 || parallelism > LazySmpSearch.MAX_THREADS) {
+            throw new IllegalArgumentException("Parallelism must be between 1 and " + LazySmpSearch.MAX_THREADS);
+        }
+        if(tableSizeInMegabytes < 1 || tableSizeInMegabytes > HeapTranspositionTable.MAX_SIZE_IN_MEGABYTES) {
+            throw new IllegalArgumentException("Transposition table size must be between 1 and " +
+                    HeapTranspositionTable.MAX_SIZE_IN_MEGABYTES + " MB");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.evaluator = evaluator;
+        this.tableSizeInMegabytes = tableSizeInMegabytes;
+    }
+
+    //depth and node limits bind the search of every root move on its own, while the time limits count from the start
+    //of the whole search; a move whose search is cut short by the time or the stop flag competes with the score of the
+    //deepest iteration it completed, which of course no longer repeats exactly
+    public RootSplitResult search(final Board board, final SearchLimits limits) {
+        final long start = System.nanoTime();
+        final List<Move> rootMoves = new ArrayList<>(board.getCurrentPlayer().getLegalMoves());
+        if(rootMoves.isEmpty()) {
+            final SearchResult result = new AlphaBetaSearch(this.evaluator,
+                    new HeapTranspositionTable(this.tableSizeInMegabytes)).search(board, limits);
+            return new RootSplitResult(result, this.pool.getParallelism(), 0L, 0L);
+        }
+        final SearchResult[] results = new SearchResult[rootMoves.size()];
+        final LongAdder busyNanos = new LongAdder();
+        final long stealsBefore = this.pool.getStealCount();
+        this.pool.invoke(new RootMoveTask(board, rootMoves, limits, results, busyNanos, 0, rootMoves.size(), start));
+        final long steals = this.pool.getStealCount() - stealsBefore;
+
+        SearchResult bestResult = results[0];
+        long nodes = 0L;
+        for(final SearchResult result : results) {
+            nodes += result.getNodes();
+            if(result.getScore() > bestResult.getScore()) {
+                bestResult = result;
+            }
+        }
+        final SearchResult result = new SearchResult(bestResult.getBestMove(), bestResult.getScore(),
+                bestResult.getDepth(), bestResult.getPrincipalVariation(), nodes, System.nanoTime() - start);
+        return new RootSplitResult(result, this.pool.getParallelism(), busyNanos.sum(), steals);
+    }
+
+    @Override
+    public void close() {
+        this.pool.shutdownNow();
+    }
+
+    private SearchResult searchRootMove(final Board board, final Move rootMove, final SearchLimits limits,
+                                        final long start) {
+        final TranspositionTable transpositionTable = new HeapTranspositionTable(this.tableSizeInMegabytes);
+        return new AlphaBetaSearch(this.evaluator, transpositionTable).search(board, limits, 1, new AtomicBoolean(),
+                MoveUtils.encode(rootMove), start);
+    }
+
+    private class RootMoveTask extends RecursiveAction {
+
+        private final Board board;
+        private final List<Move> rootMoves;
+        private final SearchLimits limits;
+        private final SearchResult[] results;
+        private final LongAdder busyNanos;
+        private final int from;
+        private final int to;
+        private final long searchStart;
+
+        RootMoveTask(final Board board, final List<Move> rootMoves, final SearchLimits limits,
+                     final SearchResult[] results, final LongAdder busyNanos, final int from, final int to,
+                     final long searchStart) {
+            this.board = board;
+            this.rootMoves = rootMoves;
+            this.limits = limits;
+            this.results = results;
+            this.busyNanos = busyNanos;
+            this.from = from;
+            this.to = to;
+            this.searchStart = searchStart;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.to - this.from == 1) {
+                final long start = System.nanoTime();
+                this.results[this.from] = searchRootMove(this.board, this.rootMoves.get(this.from), this.limits,
+                        this.searchStart);
+                this.busyNanos.add(System.nanoTime() - start);
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new RootMoveTask(this.board, this.rootMoves, this.limits, this.results, this.busyNanos,
+                            this.from, middle, this.searchStart),
+                    new RootMoveTask(this.board, this.rootMoves, this.limits, this.results, this.busyNanos,
+                            middle, this.to, this.searchStart));
+        }
+    }
+
+    public static void main(final String[] args) {
+        if(args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+        try {
+            final int parallelism = Integer.parseInt(args[0]);
+            final int depth = Integer.parseInt(args[1]);
+            final String fen = args.length > 2 ? String.join(" ", List.of(args).subList(2, args.length)) :
+                    FenUtils.STANDARD_BOARD_FEN;
+            final Board board = FenUtils.createGameFromFEN(fen);
+            try(final RootSplitSearch search = new RootSplitSearch(parallelism)) {
+                final RootSplitResult splitResult = search.search(board,
+                        new SearchLimits.Builder().setDepth(depth).build());
+                final SearchResult result = splitResult.getSearchResult();
+                final double seconds = Math.max(result.getElapsedNanos(), 1L) / 1e9;
+                System.out.println(splitResult);
+                System.out.println("Best move: " + (result.getPrincipalVariation().isEmpty() ? "none" :
+                        MoveUtils.toAlgebraic(MoveUtils.encode(result.getBestMove()))));
+                System.out.printf(Locale.ROOT, "Time: %d ms%n", TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()));
+                System.out.printf(Locale.ROOT, "Nodes per second: %.0f%n", result.getNodes() / seconds);
+            }
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.chess.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SearchLimits {
+
+    private final int depth;
+    private final long nodeLimit;
+    private final long softTimeLimitNanos;
+    private final long hardTimeLimitNanos;
+    private final AtomicBoolean stopFlag;
+
+    private SearchLimits(final Builder builder) {
+        this.depth = builder.depth;
+        this.nodeLimit = builder.nodeLimit;
+        this.softTimeLimitNanos = builder.softTimeLimitNanos;
+        this.hardTimeLimitNanos = builder.hardTimeLimitNanos;
+        this.stopFlag = builder.stopFlag;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getNodeLimit() {
+        return this.nodeLimit;
+    }
+
+    //no new iteration is started after this long
+    public long getSoftTimeLimitNanos() {
+        return this.softTimeLimitNanos;
+    }
+
+    //the iteration that is running at this point is given up
+    public long getHardTimeLimitNanos() {
+        return this.hardTimeLimitNanos;
+    }
+
+    public AtomicBoolean getStopFlag() {
+        return this.stopFlag;
+    }
+
+    public static class Builder {
+
+        private int depth;
+        private long nodeLimit;
+        private long softTimeLimitNanos;
+        private long hardTimeLimitNanos;
+        private AtomicBoolean stopFlag;
+
+        //without limits the search runs until it reaches the deepest depth it supports
+        public Builder() {
+            this.depth = AlphaBetaSearch.MAX_DEPTH;
+            this.nodeLimit = Long.MAX_VALUE;
+            this.softTimeLimitNanos = Long.MAX_VALUE;
+            this.hardTimeLimitNanos = Long.MAX_VALUE;
+            this.stopFlag = new AtomicBoolean();
+        }
+
+        public Builder setDepth(final int depth) {
+            if(depth < 1 || depth > AlphaBetaSearch.MAX_DEPTH) {
+                throw new IllegalArgumentException("Depth must be between 1 and " + AlphaBetaSearch.MAX_DEPTH);
+            }
+            this.depth = depth;
+            return this;
+        }
+
+        public Builder setNodeLimit(final long nodeLimit) {
+            if(nodeLimit < 1) {
+                throw new IllegalArgumentException("Node limit must be at least 1");
+            }
+            this.nodeLimit = nodeLimit;
+            return this;
+        }
+
+        //a fixed budget for the move, searching goes on until it is used up
+        public Builder setMoveTime(final long moveTimeMillis) {
+            if(moveTimeMillis < 1) {
+                throw new IllegalArgumentException("Move time must be at least 1 ms");
+            }
+            this.softTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(moveTimeMillis);
+            this.hardTimeLimitNanos = this.softTimeLimitNanos;
+            return this;
+        }
+
+        //the time for the move is taken from the game clock by the TimeManager, moves to go is zero for sudden death
+        public Builder setClock(final long remainingMillis, final long incrementMillis, final int movesToGo) {
+            this.softTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(
+                    TimeManager.calculateSoftTimeLimitMillis(remainingMillis, incrementMillis, movesToGo));
+            this.hardTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(
+                    TimeManager.calculateHardTimeLimitMillis(remainingMillis, incrementMillis, movesToGo));
+            return this;
+        }
+
+        //setting the flag from any thread ends the search as if a limit had been reached
+        public Builder setStopFlag(final AtomicBoolean stopFlag) {
+            if(stopFlag == null) {
+                throw new IllegalArgumentException("Stop flag must not be null");
+            }
+            this.stopFlag = stopFlag;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
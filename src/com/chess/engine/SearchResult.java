@@ -0,0 +1,81 @@
+package com.chess.engine;
+
+import com.chess.game.board.Move;
+import com.chess.game.board.MoveUtils;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SearchResult {
+
+    private final Move bestMove;
+    private final int score;
+    private final int depth;
+    private final List<Move> principalVariation;
+    private final long nodes;
+    private final long[] nodesPerThread;
+    private final long elapsedNanos;
+
+    SearchResult(final Move bestMove, final int score, final int depth, final List<Move> principalVariation,
+                 final long nodes, final long elapsedNanos) {
+        this(bestMove, score, depth, principalVariation, new long[]{nodes}, elapsedNanos);
+    }
+
+    private SearchResult(final Move bestMove, final int score, final int depth, final List<Move> principalVariation,
+                         final long[] nodesPerThread, final long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.principalVariation = ImmutableList.copyOf(principalVariation);
+        this.nodes = Arrays.stream(nodesPerThread).sum();
+        this.nodesPerThread = nodesPerThread.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    //the same result searched together with other threads, which all count towards the nodes
+    SearchResult withNodesPerThread(final long[] nodesPerThread, final long elapsedNanos) {
+        return new SearchResult(this.bestMove, this.score, this.depth, this.principalVariation, nodesPerThread,
+                elapsedNanos);
+    }
+
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    //centipawns from the side to move, mates are reported as AlphaBetaSearch.MATE_SCORE less the plies to get there
+    public int getScore() {
+        return this.score;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    //the nodes of every thread taken together
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    //the thread that produced the result comes first
+    public long[] getNodesPerThread() {
+        return this.nodesPerThread.clone();
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " score " + this.score + " nodes " + this.nodes + " pv " +
+                this.principalVariation.stream()
+                        .map(move -> MoveUtils.toAlgebraic(MoveUtils.encode(move)))
+                        .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,94 @@
+package com.chess.engine;
+
+import com.chess.game.Color;
+import com.chess.game.board.Board;
+import com.chess.game.piece.Piece;
+
+//material plus a bonus for where each piece stands; the tables are written from white's side with a8 first, which is
+//the board's own square numbering, and black looks them up on the mirrored row
+public class StandardBoardEvaluator implements BoardEvaluator {
+
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final int MIRROR_ROW = 56;
+    private static final int[][] PIECE_SQUARE_TABLES = initPieceSquareTables();
+
+    @Override
+    public int evaluate(final Board board) {
+        final int score = calculateScore(board, Color.WHITE) - calculateScore(board, Color.BLACK);
+        return board.getNextMoveMaker().isWhite() ? score : -score;
+    }
+
+    private static int calculateScore(final Board board, final Color color) {
+        int score = 0;
+        for(final Piece.PieceType pieceType : PIECE_TYPES) {
+            final int[] pieceSquareTable = PIECE_SQUARE_TABLES[pieceType.ordinal()];
+            long pieces = board.getPieceBitboard(pieceType, color);
+            score += Long.bitCount(pieces) * pieceType.getPieceValue();
+            while(pieces != 0L) {
+                final int squareCoordinate = Long.numberOfTrailingZeros(pieces);
+                score += pieceSquareTable[color.isWhite() ? squareCoordinate : squareCoordinate ^ MIRROR_ROW];
+                pieces &= pieces - 1;
+            }
+        }
+        return score;
+    }
+
+    private static int[][] initPieceSquareTables() {
+        final int[][] pieceSquareTables = new int[PIECE_TYPES.length][];
+        pieceSquareTables[Piece.PieceType.ROOK.ordinal()] = new int[] {
+                  0,   0,   0,   0,   0,   0,   0,   0,
+                  5,  10,  10,  10,  10,  10,  10,   5,
+                 -5,   0,   0,   0,   0,   0,   0,  -5,
+                 -5,   0,   0,   0,   0,   0,   0,  -5,
+                 -5,   0,   0,   0,   0,   0,   0,  -5,
+                 -5,   0,   0,   0,   0,   0,   0,  -5,
+                 -5,   0,   0,   0,   0,   0,   0,  -5,
+                  0,   0,   0,   5,   5,   0,   0,   0};
+        pieceSquareTables[Piece.PieceType.KNIGHT.ordinal()] = new int[] {
+                -50, -40, -30, -30, -30, -30, -40, -50,
+                -40, -20,   0,   0,   0,   0, -20, -40,
+                -30,   0,  10,  15,  15,  10,   0, -30,
+                -30,   5,  15,  20,  20,  15,   5, -30,
+                -30,   0,  15,  20,  20,  15,   0, -30,
+                -30,   5,  10,  15,  15,  10,   5, -30,
+                -40, -20,   0,   5,   5,   0, -20, -40,
+                -50, -40, -30, -30, -30, -30, -40, -50};
+        pieceSquareTables[Piece.PieceType.BISHOP.ordinal()] = new int[] {
+                -20, -10, -10, -10, -10, -10, -10, -20,
+                -10,   0,   0,   0,   0,   0,   0, -10,
+                -10,   0,   5,  10,  10,   5,   0, -10,
+                -10,   5,   5,  10,  10,   5,   5, -10,
+                -10,   0,  10,  10,  10,  10,   0, -10,
+                -10,  10,  10,  10,  10,  10,  10, -10,
+                -10,   5,   0,   0,   0,   0,   5, -10,
+                -20, -10, -10, -10, -10, -10, -10, -20};
+        pieceSquareTables[Piece.PieceType.QUEEN.ordinal()] = new int[] {
+                -20, -10, -10,  -5,  -5, -10, -10, -20,
+                -10,   0,   0,   0,   0,   0,   0, -10,
+                -10,   0,   5,   5,   5,   5,   0, -10,
+                 -5,   0,   5,   5,   5,   5,   0,  -5,
+                  0,   0,   5,   5,   5,   5,   0,  -5,
+                -10,   5,   5,   5,   5,   5,   0, -10,
+                -10,   0,   5,   0,   0,   0,   0, -10,
+                -20, -10, -10,  -5,  -5, -10, -10, -20};
+        pieceSquareTables[Piece.PieceType.KING.ordinal()] = new int[] {
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -20, -30, -30, -40, -40, -30, -30, -20,
+                -10, -20, -20, -20, -20, -20, -20, -10,
+                 20,  20,   0,   0,   0,   0,  20,  20,
+                 20,  30,  10,   0,   0,  10,  30,  20};
+        pieceSquareTables[Piece.PieceType.PAWN.ordinal()] = new int[] {
+                  0,   0,   0,   0,   0,   0,   0,   0,
+                 50,  50,  50,  50,  50,  50,  50,  50,
+                 10,  10,  20,  30,  30,  20,  10,  10,
+                  5,   5,  10,  25,  25,  10,   5,   5,
+                  0,   0,   0,  20,  20,   0,   0,   0,
+                  5,  -5, -10,   0,   0, -10,  -5,   5,
+                  5,  10,  10, -20, -20,  10,  10,   5,
+                  0,   0,   0,   0,   0,   0,   0,   0};
+        return pieceSquareTables;
+    }
+}
@@ -0,0 +1,52 @@
+package com.chess.engine;
+
+//splits what is left on a game clock over the moves still to play; a search should not start another iteration once
+//the soft limit has passed, since the next one takes longer than all before it together, and has to stop at the hard
+//limit even in the middle of one
+public class TimeManager {
+
+    //sudden death does not say how many moves are left, assume there are always this many more
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+    //kept back for everything between the search and the clock, like sending the move
+    public static final long MOVE_OVERHEAD_MILLIS = 10;
+
+    private static final int HARD_LIMIT_FACTOR = 4;
+
+    private TimeManager() {
+        throw new RuntimeException("Cannot instantiate Time Manager!");
+    }
+
+    //an even share of the remaining time plus most of the increment, never more than half of what is left
+    public static long calculateSoftTimeLimitMillis(final long remainingMillis, final long incrementMillis,
+                                                    final int movesToGo) {
+        validateClock(remainingMillis, incrementMillis, movesToGo);
+        final long availableMillis = calculateAvailableMillis(remainingMillis);
+        final int moves = movesToGo == 0 ? DEFAULT_MOVES_TO_GO : movesToGo;
+        final long shareMillis = remainingMillis / moves + incrementMillis * 3 / 4;
+        return Math.max(1, Math.min(shareMillis, availableMillis / 2));
+    }
+
+    //room for an iteration that is nearly done to finish, but never so much that the clock runs out
+    public static long calculateHardTimeLimitMillis(final long remainingMillis, final long incrementMillis,
+                                                    final int movesToGo) {
+        final long softTimeLimitMillis = calculateSoftTimeLimitMillis(remainingMillis, incrementMillis, movesToGo);
+        final long availableMillis = calculateAvailableMillis(remainingMillis);
+        return Math.max(softTimeLimitMillis, Math.min(softTimeLimitMillis * HARD_LIMIT_FACTOR, availableMillis * 3 / 4));
+    }
+
+    private static long calculateAvailableMillis(final long remainingMillis) {
+        return Math.max(1, remainingMillis - MOVE_OVERHEAD_MILLIS);
+    }
+
+    private static void validateClock(final long remainingMillis, final long incrementMillis, final int movesToGo) {
+        if(remainingMillis < 1) {
+            throw new IllegalArgumentException("Remaining time must be at least 1 ms");
+        }
+        if(incrementMillis < 0) {
+            throw new IllegalArgumentException("Increment must not be negative");
+        }
+        if(movesToGo < 0) {
+            throw new IllegalArgumentException("Moves to go must not be negative");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.chess.engine;
+
+import com.chess.game.board.MoveUtils;
+
+//a fixed size table of searched positions that any number of search threads can share without locking; every entry
+//is two longs, the position key xor the data and the data itself, so an entry torn by two threads writing at once no
+//longer matches its key and reads as a miss instead of as some other position's result; the subclasses only decide
+//where the longs live, and each of them has to be read and written whole
+public abstract class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_IN_MEGABYTES = 16;
+
+    //four entries of sixteen bytes fill one cache line
+    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int LONGS_PER_BUCKET = ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+    private static final long BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+    //an entry one search older counts as this many plies shallower when choosing which one to replace
+    private static final int AGE_PENALTY = 8;
+    private static final int NO_OF_SAMPLED_BUCKETS = 1000;
+
+    private long bucketMask;
+    private int sizeInMegabytes;
+    private volatile int age;
+
+    public int getSizeInMegabytes() {
+        return this.sizeInMegabytes;
+    }
+
+    //throws away every entry; the number of buckets is rounded down to a power of two, so the table may use a little
+    //less than asked for; not safe to call while a search is using the table
+    public void resize(final int sizeInMegabytes) {
+        if(sizeInMegabytes < 1 || sizeInMegabytes > getMaxSizeInMegabytes()) {
+            throw new IllegalArgumentException("Transposition table size must be between 1 and " +
+                    getMaxSizeInMegabytes() + " MB");
+        }
+        final long buckets = Long.highestOneBit(sizeInMegabytes * BYTES_PER_MEGABYTE / BYTES_PER_BUCKET);
+        allocateEntries(buckets * LONGS_PER_BUCKET);
+        this.bucketMask = buckets - 1;
+        this.sizeInMegabytes = sizeInMegabytes;
+        this.age = 0;
+    }
+
+    //entries stored before this call lose out to the ones stored after it when a bucket is full
+    public void newSearch() {
+        this.age = (this.age + 1) & TranspositionUtils.AGE_MASK;
+    }
+
+    //not safe to call while a search is using the table
+    public void clear() {
+        clearEntries();
+        this.age = 0;
+    }
+
+    //the packed data stored for the position or TranspositionUtils.NO_ENTRY, read it with TranspositionUtils
+    public long probe(final long key) {
+        final long bucket = bucketIndex(key);
+        for(long i = bucket; i < bucket + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            final long data = readEntry(i + 1);
+            if(data != TranspositionUtils.NO_ENTRY && (readEntry(i) ^ data) == key) {
+                return data;
+            }
+        }
+        return TranspositionUtils.NO_ENTRY;
+    }
+
+    //the score has to be relative to the position itself, see AlphaBetaSearch for how mate scores are adjusted;
+    //the position's own entry is always overwritten, otherwise the shallowest and oldest entry of the bucket makes way
+    public void store(final long key, final int depth, final int bound, final int score, final int move) {
+        final long bucket = bucketIndex(key);
+        final int currentAge = this.age;
+        long replaced = bucket;
+        int replacedWorth = Integer.MAX_VALUE;
+        int previousMove = MoveUtils.NULL_MOVE;
+        for(long i = bucket; i < bucket + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            final long data = readEntry(i + 1);
+            if(data == TranspositionUtils.NO_ENTRY) {
+                replaced = i;
+                break;
+            }
+            if((readEntry(i) ^ data) == key) {
+                replaced = i;
+                previousMove = TranspositionUtils.getMove(data);
+                break;
+            }
+            final int worth = TranspositionUtils.getDepth(data) -
+                    AGE_PENALTY * ((currentAge - TranspositionUtils.getAge(data)) & TranspositionUtils.AGE_MASK);
+            if(worth < replacedWorth) {
+                replaced = i;
+                replacedWorth = worth;
+            }
+        }
+        //a result without a move still knows the best move of an earlier search of the same position
+        final int storedMove = move == MoveUtils.NULL_MOVE ? previousMove : move;
+        final long data = TranspositionUtils.encode(depth, bound, score, storedMove, currentAge);
+        writeEntry(replaced, key ^ data);
+        writeEntry(replaced + 1, data);
+    }
+
+    //permille of the entries used by the current search, from a sample of the first buckets
+    public int calculateUsage() {
+        final int currentAge = this.age;
+        final int sampledBuckets = (int) Math.min(NO_OF_SAMPLED_BUCKETS, this.bucketMask + 1);
+        int used = 0;
+        for(long i = 0; i < sampledBuckets * LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            final long data = readEntry(i + 1);
+            if(data != TranspositionUtils.NO_ENTRY && TranspositionUtils.getAge(data) == currentAge) {
+                used++;
+            }
+        }
+        return used * 1000 / (sampledBuckets * ENTRIES_PER_BUCKET);
+    }
+
+    private long bucketIndex(final long key) {
+        return (key & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    abstract int getMaxSizeInMegabytes();
+
+    //replaces the storage with the given number of longs, all of them zero
+    abstract void allocateEntries(long noOfLongs);
+
+    abstract void clearEntries();
+
+    abstract long readEntry(long index);
+
+    abstract void writeEntry(long index, long value);
+}
@@ -0,0 +1,58 @@
+package com.chess.engine;
+
+public class TranspositionUtils {
+
+    //the data of an entry is a long: move (19 bits, as encoded by MoveUtils), score (16 bits, two's complement),
+    //depth (8 bits), bound (2 bits) and the age of the search that stored it (8 bits); the bound is never zero, so
+    //neither is the data of a used entry
+    public static final long NO_ENTRY = 0L;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    static final int AGE_MASK = 0xFF;
+
+    private static final int MOVE_MASK = 0x7FFFF;
+    private static final int SCORE_SHIFT = 19;
+    private static final int DEPTH_SHIFT = 35;
+    private static final int BOUND_SHIFT = 43;
+    private static final int AGE_SHIFT = 45;
+    private static final int MAX_DEPTH = 0xFF;
+
+    private TranspositionUtils() {
+        throw new RuntimeException("Cannot instantiate Transposition Utils!");
+    }
+
+    public static long encode(final int depth, final int bound, final int score, final int move, final int age) {
+        if(bound < EXACT || bound > UPPER_BOUND) {
+            throw new IllegalArgumentException("Invalid bound: " + bound);
+        }
+        if(score < Short.MIN_VALUE || score > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Score out of range: " + score);
+        }
+        return (move & MOVE_MASK) | (long) (score & 0xFFFF) << SCORE_SHIFT |
+                (long) Math.max(0, Math.min(depth, MAX_DEPTH)) << DEPTH_SHIFT | (long) bound << BOUND_SHIFT |
+                (long) (age & AGE_MASK) << AGE_SHIFT;
+    }
+
+    public static int getMove(final long data) {
+        return (int) data & MOVE_MASK;
+    }
+
+    public static int getScore(final long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int getDepth(final long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    public static int getBound(final long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int getAge(final long data) {
+        return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+    }
+}
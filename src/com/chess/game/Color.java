@@ -36,6 +36,11 @@ public enum Color {
         public boolean isPawnPromotionSquare(int position) {
             return BoardUtils.FIRST_ROW[position];
         }
+
+        @Override
+        public Color opposite() {
+            return BLACK;
+        }
     },
     BLACK(){
         @Override
@@ -67,6 +72,11 @@ public enum Color {
         public boolean isPawnPromotionSquare(int position) {
             return BoardUtils.EIGHTH_ROW[position];
         }
+
+        @Override
+        public Color opposite() {
+            return WHITE;
+        }
     };
 
     public abstract int getDirection();
@@ -80,4 +90,6 @@ public enum Color {
     public abstract Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer);
 
     public abstract boolean isPawnPromotionSquare(int position);
+
+    public abstract Color opposite();
 }
@@ -5,6 +5,8 @@ import com.chess.game.piece.*;
 import com.chess.game.player.BlackPlayer;
 import com.chess.game.player.Player;
 import com.chess.game.player.WhitePlayer;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
@@ -14,28 +16,49 @@ import java.util.stream.Stream;
 
 public class Board {
 
-    private final List<Square> gameBoard;
+    private final Piece[] pieces;
+    private final long[] pieceBitboards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
-    private final WhitePlayer whitePlayer;
-    private final BlackPlayer blackPlayer;
-    private final Player currentPlayer;
+    private final Supplier<Collection<Move>> whiteLegalMoves;
+    private final Supplier<Collection<Move>> blackLegalMoves;
+    private final Supplier<WhitePlayer> whitePlayer;
+    private final Supplier<BlackPlayer> blackPlayer;
+    private final Color nextMoveMaker;
+    private final int castlingRights;
     private final Pawn enPassantPawn;
+    private final int enPassantSquare;
+    private final long zobristKey;
+    private final int halfMoveClock;
+    private final Supplier<GameStatus> gameStatus;
 
+    //squares are interned, so they are looked up from the piece array instead of being kept per board
     public Square getSquare(final int squareCoordinate) {
-        return gameBoard.get(squareCoordinate);
+        return Square.createSquare(squareCoordinate, this.pieces[squareCoordinate]);
     }
 
     private Board(final Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Color.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Color.BLACK);
+        this.pieces = builder.boardConfig.clone();
+        this.pieceBitboards = calculatePieceBitboards(this.pieces);
+        this.whiteOccupancy = calculateOccupancy(this.pieceBitboards, Color.WHITE);
+        this.blackOccupancy = calculateOccupancy(this.pieceBitboards, Color.BLACK);
+        this.whitePieces = calculateActivePieces(this.pieces, this.whiteOccupancy);
+        this.blackPieces = calculateActivePieces(this.pieces, this.blackOccupancy);
+        this.nextMoveMaker = builder.nextMoveMaker;
+        this.castlingRights = calculateCastlingRights(this.pieces);
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> allWhiteLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> allBlackLegalMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, allWhiteLegalMoves, allBlackLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, allBlackLegalMoves, allWhiteLegalMoves);
-        this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        this.enPassantSquare = calculateEnPassantSquare(this.enPassantPawn);
+        this.zobristKey = builder.hasZobristKey ? builder.zobristKey : Zobrist.calculateKey(this);
+        assert this.zobristKey == Zobrist.calculateKey(this) : "Incremental zobrist key does not match the position";
+        this.halfMoveClock = builder.halfMoveClock;
+        //moves and players are only worked out when someone asks for them
+        this.whiteLegalMoves = Suppliers.memoize(() -> calculateLegalMoves(Color.WHITE));
+        this.blackLegalMoves = Suppliers.memoize(() -> calculateLegalMoves(Color.BLACK));
+        this.whitePlayer = Suppliers.memoize(() -> new WhitePlayer(this, this.whiteLegalMoves));
+        this.blackPlayer = Suppliers.memoize(() -> new BlackPlayer(this, this.blackLegalMoves));
+        this.gameStatus = Suppliers.memoize(this::calculateGameStatus);
     }
 
     public Collection<Piece> getBlackPieces () {
@@ -52,85 +75,277 @@ public class Board {
     }
 
     public Player getWhitePlayer() {
-        return this.whitePlayer;
+        return this.whitePlayer.get();
     }
     public Player getBlackPlayer() {
-        return this.blackPlayer;
+        return this.blackPlayer.get();
     }
     public Player getCurrentPlayer() {
-        return currentPlayer;
+        return this.nextMoveMaker.isWhite() ? this.whitePlayer.get() : this.blackPlayer.get();
     }
     public Pawn getEnPassantPawn() {
         return enPassantPawn;
     }
 
-    private Collection<Move> calculateLegalMoves(Collection<Piece> pieces) {
-        final List<Move> LegalMoves = new ArrayList<>();
+    public Piece getPiece(final int squareCoordinate) {
+        return this.pieces[squareCoordinate];
+    }
+
+    public long getPieceBitboard(final Piece.PieceType pieceType, final Color pieceColor) {
+        return this.pieceBitboards[BoardUtils.bitboardIndex(pieceType, pieceColor)];
+    }
+
+    public long getOccupancy(final Color color) {
+        return color.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getAllOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+    public boolean isSquareAttacked(final int squareCoordinate, final Color byColor) {
+        return BoardUtils.isSquareAttacked(this.pieceBitboards, getAllOccupancy(), squareCoordinate, byColor);
+    }
+
+    public LegalMoveFilter calculateLegalMoveFilter(final Color color) {
+        return new LegalMoveFilter(this.pieceBitboards, getAllOccupancy(), color);
+    }
 
-        for(final Piece piece : pieces) {
-            LegalMoves.addAll(piece.legalMoves(this));
+    //appends the pseudo legal moves of every piece of the color, castles are generated separately
+    public void generateMoves(final Color color, final MoveList moves) {
+        generateMoves(color, BoardUtils.ALL_SQUARES, BoardUtils.ALL_SQUARES, moves);
+    }
+
+    //moves that change the material: captures, en passant and promotions
+    public void generateCaptures(final Color color, final MoveList moves) {
+        final long captureDestinations = getOccupancy(color.opposite());
+        generateMoves(color, captureDestinations, captureDestinations | calculatePawnOnlyCaptureDestinations(color),
+                moves);
+    }
+
+    //everything generateCaptures leaves out apart from castles
+    public void generateQuietMoves(final Color color, final MoveList moves) {
+        final long captureDestinations = getOccupancy(color.opposite());
+        generateMoves(color, ~captureDestinations, ~(captureDestinations | calculatePawnOnlyCaptureDestinations(color)),
+                moves);
+    }
+
+    private long calculatePawnOnlyCaptureDestinations(final Color color) {
+        return BoardUtils.PROMOTION_ROWS[color.ordinal()] |
+                (this.enPassantSquare == BoardUtils.NO_SQUARE ? 0L : BoardUtils.squareBit(this.enPassantSquare));
+    }
+
+    //walks the occupancy instead of the piece collection, so nothing is allocated on the way
+    private void generateMoves(final Color color, final long pieceDestinations, final long pawnDestinations,
+                               final MoveList moves) {
+        long remaining = getOccupancy(color);
+        while(remaining != 0L) {
+            final Piece piece = this.pieces[Long.numberOfTrailingZeros(remaining)];
+            piece.legalMoves(this, piece.getPieceType() == Piece.PieceType.PAWN ? pawnDestinations : pieceDestinations,
+                    moves);
+            remaining &= remaining - 1;
+        }
+    }
+
+    public void generateCastleMoves(final Color color, final MoveList moves) {
+        BoardUtils.generateCastleMoves(this.pieceBitboards, getAllOccupancy(), this.castlingRights, color, moves);
+    }
+
+    //material the side making the move wins once every capture on its destination has been played out
+    public int calculateStaticExchange(final int move) {
+        return MoveOrdering.calculateStaticExchange(this.pieceBitboards, getAllOccupancy(),
+                this.pieces[MoveUtils.getCurrentCoordinate(move)].getPieceColor(), move);
+    }
+
+    public boolean isKingAttacked(final Color kingColor) {
+        final long king = getPieceBitboard(Piece.PieceType.KING, kingColor);
+        return king != 0L && isSquareAttacked(Long.numberOfTrailingZeros(king), kingColor.opposite());
+    }
+
+    public Color getNextMoveMaker() {
+        return this.nextMoveMaker;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getHalfMoveClock() {
+        return this.halfMoveClock;
+    }
+
+    public GameStatus getGameStatus() {
+        return this.gameStatus.get();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if(this == other) {
+            return true;
+        }
+        if(!(other instanceof Board)) {
+            return false;
         }
-        return ImmutableList.copyOf(LegalMoves);
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey && this.nextMoveMaker == otherBoard.nextMoveMaker &&
+                this.castlingRights == otherBoard.castlingRights && this.enPassantSquare == otherBoard.enPassantSquare &&
+                Arrays.equals(this.pieceBitboards, otherBoard.pieceBitboards);
     }
 
-    private static Collection<Piece> calculateActivePieces(final List<Square> gameBoard, final Color color) {
-        final List<Piece> activePieces = new ArrayList<>();
-        for(final Square square : gameBoard) {
-            if(square.isSquareOccupied()) {
-                final Piece piece = square.getPiece();
-                if(piece.getPieceColor() == color) {
-                    activePieces.add(piece);
-                }
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.zobristKey);
+    }
+
+    private Collection<Move> calculateLegalMoves(final Color color) {
+        final MoveList moves = new MoveList();
+        generateMoves(color, moves);
+        return MoveUtils.toMoves(this, moves);
+    }
+
+    private GameStatus calculateGameStatus() {
+        final Player currentPlayer = getCurrentPlayer();
+        if(currentPlayer.getLegalMoves().isEmpty()) {
+            return currentPlayer.isInCheck() ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        }
+        if(hasInsufficientMaterial()) {
+            return GameStatus.INSUFFICIENT_MATERIAL;
+        }
+        if(this.halfMoveClock >= BoardUtils.FIFTY_MOVE_RULE_HALF_MOVES) {
+            return GameStatus.FIFTY_MOVE_RULE;
+        }
+        return currentPlayer.isInCheck() ? GameStatus.CHECK : GameStatus.ONGOING;
+    }
+
+    //bare kings, a single minor piece, or bishops that all stand on squares of one color can never give mate
+    public boolean hasInsufficientMaterial() {
+        long minorPieces = 0L;
+        for(final Color color : Color.values()) {
+            if((getPieceBitboard(Piece.PieceType.PAWN, color) | getPieceBitboard(Piece.PieceType.ROOK, color) |
+                    getPieceBitboard(Piece.PieceType.QUEEN, color)) != 0L) {
+                return false;
             }
+            minorPieces |= getPieceBitboard(Piece.PieceType.KNIGHT, color) | getPieceBitboard(Piece.PieceType.BISHOP, color);
+        }
+        if(Long.bitCount(minorPieces) <= 1) {
+            return true;
+        }
+        final long bishops = getPieceBitboard(Piece.PieceType.BISHOP, Color.WHITE) |
+                getPieceBitboard(Piece.PieceType.BISHOP, Color.BLACK);
+        return bishops == minorPieces &&
+                ((bishops & BoardUtils.LIGHT_SQUARES) == 0L || (bishops & ~BoardUtils.LIGHT_SQUARES) == 0L);
+    }
+
+    private static Collection<Piece> calculateActivePieces(final Piece[] pieces, final long occupancy) {
+        final Piece[] activePieces = new Piece[Long.bitCount(occupancy)];
+        long remaining = occupancy;
+        for(int i = 0; remaining != 0; i++) {
+            activePieces[i] = pieces[Long.numberOfTrailingZeros(remaining)];
+            remaining &= remaining - 1;
         }
         return ImmutableList.copyOf(activePieces);
     }
 
-    private static List<Square> createGameBoard (final Builder builder) {
-        final Square[] squares = new Square[BoardUtils.NO_OF_SQUARES];
-        for (int i=0; i< BoardUtils.NO_OF_SQUARES; i++) {
-            squares[i] = Square.createSquare(i, builder.boardConfig.get(i));
+    private static long[] calculatePieceBitboards(final Piece[] pieces) {
+        final long[] pieceBitboards = new long[BoardUtils.NO_OF_PIECE_BITBOARDS];
+        for(int i = 0; i < BoardUtils.NO_OF_SQUARES; i++) {
+            final Piece piece = pieces[i];
+            if(piece != null) {
+                pieceBitboards[BoardUtils.bitboardIndex(piece.getPieceType(), piece.getPieceColor())] |=
+                        BoardUtils.squareBit(i);
+            }
+        }
+        return pieceBitboards;
+    }
+
+    private static long calculateOccupancy(final long[] pieceBitboards, final Color color) {
+        long occupancy = 0L;
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            occupancy |= pieceBitboards[BoardUtils.bitboardIndex(pieceType, color)];
+        }
+        return occupancy;
+    }
+
+    private static int calculateCastlingRights(final Piece[] pieces) {
+        int castlingRights = 0;
+        if(isUnmovedPiece(pieces, 60, Piece.PieceType.KING, Color.WHITE)) {
+            if(isUnmovedPiece(pieces, 63, Piece.PieceType.ROOK, Color.WHITE)) {
+                castlingRights |= BoardUtils.WHITE_KING_SIDE_CASTLE;
+            }
+            if(isUnmovedPiece(pieces, 56, Piece.PieceType.ROOK, Color.WHITE)) {
+                castlingRights |= BoardUtils.WHITE_QUEEN_SIDE_CASTLE;
+            }
+        }
+        if(isUnmovedPiece(pieces, 4, Piece.PieceType.KING, Color.BLACK)) {
+            if(isUnmovedPiece(pieces, 7, Piece.PieceType.ROOK, Color.BLACK)) {
+                castlingRights |= BoardUtils.BLACK_KING_SIDE_CASTLE;
+            }
+            if(isUnmovedPiece(pieces, 0, Piece.PieceType.ROOK, Color.BLACK)) {
+                castlingRights |= BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+            }
+        }
+        return castlingRights;
+    }
+
+    private static boolean isUnmovedPiece(final Piece[] pieces, final int squareCoordinate,
+                                          final Piece.PieceType pieceType, final Color color) {
+        final Piece piece = pieces[squareCoordinate];
+        return piece != null && piece.getPieceType() == pieceType && piece.getPieceColor() == color && piece.isFirstMove();
+    }
+
+    private static int calculateEnPassantSquare(final Pawn enPassantPawn) {
+        if(enPassantPawn == null) {
+            return BoardUtils.NO_SQUARE;
         }
-        return ImmutableList.copyOf(squares);
+        return enPassantPawn.getPiecePosition() +
+                enPassantPawn.getPieceColor().getOppositeDirection() * BoardUtils.NO_OF_SQUARES_PER_ROW;
     }
 
     public static Board initializeStandardBoard() {
         final Builder builder = new Builder();
         //set the black pieces
-        builder.setPiece(new Rook(0, Color.BLACK));
-        builder.setPiece(new Knight(1, Color.BLACK));
-        builder.setPiece(new Bishop(2, Color.BLACK));
-        builder.setPiece(new Queen(3, Color.BLACK));
-        builder.setPiece(new King(4, Color.BLACK));
-        builder.setPiece(new Bishop(5, Color.BLACK));
-        builder.setPiece(new Knight(6, Color.BLACK));
-        builder.setPiece(new Rook(7, Color.BLACK));
-        builder.setPiece(new Pawn(8, Color.BLACK));
-        builder.setPiece(new Pawn(9, Color.BLACK));
-        builder.setPiece(new Pawn(10, Color.BLACK));
-        builder.setPiece(new Pawn(11, Color.BLACK));
-        builder.setPiece(new Pawn(12, Color.BLACK));
-        builder.setPiece(new Pawn(13, Color.BLACK));
-        builder.setPiece(new Pawn(14, Color.BLACK));
-        builder.setPiece(new Pawn(15, Color.BLACK));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.ROOK, 0, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.KNIGHT, 1, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.BISHOP, 2, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.QUEEN, 3, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.KING, 4, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.BISHOP, 5, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.KNIGHT, 6, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.ROOK, 7, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 8, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 9, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 10, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 11, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 12, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 13, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 14, Color.BLACK, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 15, Color.BLACK, true));
 
         //set the white pieces
-        builder.setPiece(new Pawn(48, Color.WHITE));
-        builder.setPiece(new Pawn(49, Color.WHITE));
-        builder.setPiece(new Pawn(50, Color.WHITE));
-        builder.setPiece(new Pawn(51, Color.WHITE));
-        builder.setPiece(new Pawn(52, Color.WHITE));
-        builder.setPiece(new Pawn(53, Color.WHITE));
-        builder.setPiece(new Pawn(54, Color.WHITE));
-        builder.setPiece(new Pawn(55, Color.WHITE));
-        builder.setPiece(new Rook(56, Color.WHITE));
-        builder.setPiece(new Knight(57, Color.WHITE));
-        builder.setPiece(new Bishop(58, Color.WHITE));
-        builder.setPiece(new Queen(59, Color.WHITE));
-        builder.setPiece(new King(60, Color.WHITE));
-        builder.setPiece(new Bishop(61, Color.WHITE));
-        builder.setPiece(new Knight(62, Color.WHITE));
-        builder.setPiece(new Rook(63, Color.WHITE));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 48, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 49, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 50, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 51, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 52, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 53, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 54, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.PAWN, 55, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.ROOK, 56, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.KNIGHT, 57, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.BISHOP, 58, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.QUEEN, 59, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.KING, 60, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.BISHOP, 61, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.KNIGHT, 62, Color.WHITE, true));
+        builder.setPiece(PieceUtils.getPiece(Piece.PieceType.ROOK, 63, Color.WHITE, true));
 
         //white moves first
         builder.setMoveMaker(Color.WHITE);
@@ -139,20 +354,34 @@ public class Board {
     }
 
     public Iterable<Move> getAllLegalMoves() {
-        return Iterables.unmodifiableIterable(Iterables.concat(this.whitePlayer.getLegalMoves(), this.blackPlayer.getLegalMoves()));
+        return Iterables.unmodifiableIterable(Iterables.concat(getWhitePlayer().getLegalMoves(), getBlackPlayer().getLegalMoves()));
     }
 
     public static class Builder {
-        Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
         Color nextMoveMaker;
         private Pawn enPassantPawn;
+        private long zobristKey;
+        private boolean hasZobristKey;
+        private int halfMoveClock;
 
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NO_OF_SQUARES];
+        }
+
+        //starts from the pieces and side to move of a board, en passant, clock and key are up to the caller
+        public Builder(final Board board) {
+            this.boardConfig = board.pieces.clone();
+            this.nextMoveMaker = board.nextMoveMaker;
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
+            return this;
+        }
+
+        public Builder clearSquare(final int squareCoordinate) {
+            this.boardConfig[squareCoordinate] = null;
             return this;
         }
 
@@ -167,5 +396,16 @@ public class Board {
         public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        public void setHalfMoveClock(final int halfMoveClock) {
+            this.halfMoveClock = halfMoveClock;
+        }
+
+        //lets a move hand over the key it updated incrementally instead of hashing the new board from scratch
+        Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
+            return this;
+        }
     }
 }
@@ -1,5 +1,8 @@
 package com.chess.game.board;
 
+import com.chess.game.Color;
+import com.chess.game.piece.Piece.PieceType;
+
 import java.util.*;
 
 public class BoardUtils {
@@ -21,6 +24,38 @@ public class BoardUtils {
 
     public static final int NO_OF_SQUARES = 64;
     public static final int NO_OF_SQUARES_PER_ROW = 8;
+    public static final int NO_OF_PIECE_TYPES = 6;
+    public static final int NO_OF_PIECE_BITBOARDS = 2 * NO_OF_PIECE_TYPES;
+    public static final int NO_SQUARE = -1;
+
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+    public static final int ALL_CASTLING_RIGHTS = 15;
+    public static final int FIFTY_MOVE_RULE_HALF_MOVES = 100;
+    //castling rights that survive a move from or to the given square
+    public static final int[] CASTLING_RIGHTS_MASKS = initCastlingRightsMasks();
+
+    private static final int[][] KNIGHT_JUMPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    public static final long[] KNIGHT_ATTACKS = initLeaperAttacks(KNIGHT_JUMPS);
+    public static final long[] KING_ATTACKS = initLeaperAttacks(KING_STEPS);
+    //indexed by Color.ordinal(), holds the squares a pawn of that color attacks
+    public static final long[][] PAWN_ATTACKS = {initPawnAttacks(Color.WHITE), initPawnAttacks(Color.BLACK)};
+    public static final long LIGHT_SQUARES = initLightSquares();
+    public static final long ALL_SQUARES = -1L;
+    //the row a pawn promotes on, indexed by color ordinal like PAWN_ATTACKS
+    public static final long[] PROMOTION_ROWS = {0xFFL, 0xFFL << 56};
+    //squares strictly between two squares on the same row, column or diagonal, empty when they are not aligned
+    public static final long[][] BETWEEN = new long[NO_OF_SQUARES][NO_OF_SQUARES];
+    //the whole row, column or diagonal through two aligned squares, empty when they are not aligned
+    public static final long[][] LINE = new long[NO_OF_SQUARES][NO_OF_SQUARES];
+
+    static {
+        initLines();
+    }
 
     private BoardUtils(){
         throw new RuntimeException("Cannot instantiate Board Utils!");
@@ -44,10 +79,154 @@ public class BoardUtils {
         return row;
     }
 
+    private static int[] initCastlingRightsMasks() {
+        final int[] masks = new int[NO_OF_SQUARES];
+        Arrays.fill(masks, ALL_CASTLING_RIGHTS);
+        masks[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        masks[63] &= ~WHITE_KING_SIDE_CASTLE;
+        masks[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        masks[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        masks[7] &= ~BLACK_KING_SIDE_CASTLE;
+        masks[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return masks;
+    }
+
+    private static long initLightSquares() {
+        long lightSquares = 0L;
+        for(int i = 0; i < NO_OF_SQUARES; i++) {
+            if((i / NO_OF_SQUARES_PER_ROW + i % NO_OF_SQUARES_PER_ROW) % 2 == 0) {
+                lightSquares |= squareBit(i);
+            }
+        }
+        return lightSquares;
+    }
+
+    private static long[] initLeaperAttacks(final int[][] steps) {
+        final long[] attacks = new long[NO_OF_SQUARES];
+        for(int i = 0; i < NO_OF_SQUARES; i++) {
+            for(final int[] step : steps) {
+                attacks[i] |= squareBitIfOnBoard(i / NO_OF_SQUARES_PER_ROW + step[0], i % NO_OF_SQUARES_PER_ROW + step[1]);
+            }
+        }
+        return attacks;
+    }
+
+    private static long[] initPawnAttacks(final Color color) {
+        final long[] attacks = new long[NO_OF_SQUARES];
+        for(int i = 0; i < NO_OF_SQUARES; i++) {
+            final int row = i / NO_OF_SQUARES_PER_ROW + color.getDirection();
+            final int column = i % NO_OF_SQUARES_PER_ROW;
+            attacks[i] = squareBitIfOnBoard(row, column - 1) | squareBitIfOnBoard(row, column + 1);
+        }
+        return attacks;
+    }
+
+    private static void initLines() {
+        for(int i = 0; i < NO_OF_SQUARES; i++) {
+            for(final int[] step : KING_STEPS) {
+                final long line = squareBit(i) | calculateRay(i, step[0], step[1]) | calculateRay(i, -step[0], -step[1]);
+                long between = 0L;
+                int row = i / NO_OF_SQUARES_PER_ROW + step[0];
+                int column = i % NO_OF_SQUARES_PER_ROW + step[1];
+                while(squareBitIfOnBoard(row, column) != 0L) {
+                    final int target = row * NO_OF_SQUARES_PER_ROW + column;
+                    BETWEEN[i][target] = between;
+                    LINE[i][target] = line;
+                    between |= squareBit(target);
+                    row += step[0];
+                    column += step[1];
+                }
+            }
+        }
+    }
+
+    private static long calculateRay(final int squareCoordinate, final int rowStep, final int columnStep) {
+        long ray = 0L;
+        int row = squareCoordinate / NO_OF_SQUARES_PER_ROW + rowStep;
+        int column = squareCoordinate % NO_OF_SQUARES_PER_ROW + columnStep;
+        while(squareBitIfOnBoard(row, column) != 0L) {
+            ray |= squareBitIfOnBoard(row, column);
+            row += rowStep;
+            column += columnStep;
+        }
+        return ray;
+    }
+
+    private static long squareBitIfOnBoard(final int row, final int column) {
+        if(row < 0 || row >= NO_OF_SQUARES_PER_ROW || column < 0 || column >= NO_OF_SQUARES_PER_ROW) {
+            return 0L;
+        }
+        return squareBit(row * NO_OF_SQUARES_PER_ROW + column);
+    }
+
     public static boolean isValidCoordinate(final int coordinate) {
         return coordinate >= 0 && coordinate < NO_OF_SQUARES;
     }
 
+    public static int bitboardIndex(final PieceType pieceType, final Color pieceColor) {
+        return pieceColor.ordinal() * NO_OF_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static long squareBit(final int coordinate) {
+        return 1L << coordinate;
+    }
+
+    //every piece of byColor that attacks the square, found the same way as in isSquareAttacked
+    public static long calculateAttackers(final long[] pieceBitboards, final long occupancy,
+                                          final int squareCoordinate, final Color byColor) {
+        final long queens = pieceBitboards[bitboardIndex(PieceType.QUEEN, byColor)];
+        return (PAWN_ATTACKS[byColor.opposite().ordinal()][squareCoordinate] &
+                        pieceBitboards[bitboardIndex(PieceType.PAWN, byColor)]) |
+                (KNIGHT_ATTACKS[squareCoordinate] & pieceBitboards[bitboardIndex(PieceType.KNIGHT, byColor)]) |
+                (KING_ATTACKS[squareCoordinate] & pieceBitboards[bitboardIndex(PieceType.KING, byColor)]) |
+                (MagicBitboards.bishopAttacks(squareCoordinate, occupancy) &
+                        (pieceBitboards[bitboardIndex(PieceType.BISHOP, byColor)] | queens)) |
+                (MagicBitboards.rookAttacks(squareCoordinate, occupancy) &
+                        (pieceBitboards[bitboardIndex(PieceType.ROOK, byColor)] | queens));
+    }
+
+    //looks outward from the square, a piece of byColor that could capture on it sits on one of its own attack patterns
+    public static boolean isSquareAttacked(final long[] pieceBitboards, final long occupancy,
+                                           final int squareCoordinate, final Color byColor) {
+        final long queens = pieceBitboards[bitboardIndex(PieceType.QUEEN, byColor)];
+        return (PAWN_ATTACKS[byColor.opposite().ordinal()][squareCoordinate] &
+                        pieceBitboards[bitboardIndex(PieceType.PAWN, byColor)]) != 0L ||
+                (KNIGHT_ATTACKS[squareCoordinate] & pieceBitboards[bitboardIndex(PieceType.KNIGHT, byColor)]) != 0L ||
+                (KING_ATTACKS[squareCoordinate] & pieceBitboards[bitboardIndex(PieceType.KING, byColor)]) != 0L ||
+                (MagicBitboards.bishopAttacks(squareCoordinate, occupancy) &
+                        (pieceBitboards[bitboardIndex(PieceType.BISHOP, byColor)] | queens)) != 0L ||
+                (MagicBitboards.rookAttacks(squareCoordinate, occupancy) &
+                        (pieceBitboards[bitboardIndex(PieceType.ROOK, byColor)] | queens)) != 0L;
+    }
+
+    //castling rights already say that the king and the rook have not moved, so only the squares in between are checked
+    public static void generateCastleMoves(final long[] pieceBitboards, final long occupancy, final int castlingRights,
+                                           final Color color, final MoveList moves) {
+        final int kingSideRight = color.isWhite() ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE;
+        final int queenSideRight = color.isWhite() ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE;
+        if((castlingRights & (kingSideRight | queenSideRight)) == 0) {
+            return;
+        }
+        final Color opponent = color.opposite();
+        final int kingCoordinate = Long.numberOfTrailingZeros(pieceBitboards[bitboardIndex(PieceType.KING, color)]);
+        if(isSquareAttacked(pieceBitboards, occupancy, kingCoordinate, opponent)) {
+            return;
+        }
+        if((castlingRights & kingSideRight) != 0 &&
+                (occupancy & (squareBit(kingCoordinate + 1) | squareBit(kingCoordinate + 2))) == 0L &&
+                !isSquareAttacked(pieceBitboards, occupancy, kingCoordinate + 1, opponent) &&
+                !isSquareAttacked(pieceBitboards, occupancy, kingCoordinate + 2, opponent)) {
+            moves.add(MoveUtils.encode(kingCoordinate, kingCoordinate + 2, MoveUtils.KING_SIDE_CASTLE, false));
+        }
+        if((castlingRights & queenSideRight) != 0 &&
+                (occupancy & (squareBit(kingCoordinate - 1) | squareBit(kingCoordinate - 2) |
+                        squareBit(kingCoordinate - 3))) == 0L &&
+                !isSquareAttacked(pieceBitboards, occupancy, kingCoordinate - 1, opponent) &&
+                !isSquareAttacked(pieceBitboards, occupancy, kingCoordinate - 2, opponent)) {
+            moves.add(MoveUtils.encode(kingCoordinate, kingCoordinate - 2, MoveUtils.QUEEN_SIDE_CASTLE, false));
+        }
+    }
+
 
     public static String getPositionAtCoordinate(int destinationCoordinate) {
         return ALGEBRAIC_NOTATION.get(destinationCoordinate);
@@ -0,0 +1,202 @@
+package com.chess.game.board;
+
+import com.chess.game.Color;
+import com.chess.game.piece.Pawn;
+import com.chess.game.piece.Piece;
+import com.chess.game.piece.PieceUtils;
+
+import java.util.Locale;
+
+import static com.chess.game.board.BoardUtils.*;
+
+public class FenUtils {
+
+    public static final String STANDARD_BOARD_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private FenUtils() {
+        throw new RuntimeException("Cannot instantiate Fen Utils!");
+    }
+
+    public static Board createGameFromFEN(final String fen) {
+        final String[] fenPartitions = fen.trim().split("\\s+");
+        if(fenPartitions.length < 2) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        final String castlingPart = fenPartitions.length > 2 ? fenPartitions[2] : "-";
+        final String enPassantPart = fenPartitions.length > 3 ? fenPartitions[3] : "-";
+        final int halfMoveClock = fenPartitions.length > 4 ? parseHalfMoveClock(fenPartitions[4]) : 0;
+        final Color nextMoveMaker = parseMoveMaker(fenPartitions[1]);
+        final int enPassantPawnPosition = parseEnPassantPawnPosition(enPassantPart, nextMoveMaker);
+
+        final String[] ranks = fenPartitions[0].split("/", -1);
+        if(ranks.length != NO_OF_SQUARES_PER_ROW) {
+            throw new IllegalArgumentException("Invalid FEN piece placement, expected 8 ranks: " + fen);
+        }
+        final Board.Builder builder = new Board.Builder();
+        final int[] noOfKings = new int[Color.values().length];
+        Pawn enPassantPawn = null;
+        for(int row = 0; row < NO_OF_SQUARES_PER_ROW; row++) {
+            int column = 0;
+            boolean isAfterDigit = false;
+            for(final char symbol : ranks[row].toCharArray()) {
+                if(column >= NO_OF_SQUARES_PER_ROW) {
+                    //anything after a full rank would spill into the next one
+                    column++;
+                    break;
+                }
+                if(symbol >= '1' && symbol <= '8') {
+                    if(isAfterDigit) {
+                        throw new IllegalArgumentException("Invalid FEN piece placement, empty squares must be " +
+                                "counted by one digit: " + fen);
+                    }
+                    column += symbol - '0';
+                    isAfterDigit = true;
+                    continue;
+                }
+                isAfterDigit = false;
+                final int squareCoordinate = row * NO_OF_SQUARES_PER_ROW + column;
+                final Piece.PieceType pieceType = parsePieceType(symbol);
+                final Color pieceColor = Character.isUpperCase(symbol) ? Color.WHITE : Color.BLACK;
+                final Piece piece = PieceUtils.getPiece(pieceType, squareCoordinate, pieceColor,
+                        isFirstMove(pieceType, pieceColor, squareCoordinate, castlingPart));
+                builder.setPiece(piece);
+                if(pieceType.isKing()) {
+                    noOfKings[pieceColor.ordinal()]++;
+                }
+                if(squareCoordinate == enPassantPawnPosition && pieceType == Piece.PieceType.PAWN) {
+                    enPassantPawn = (Pawn) piece;
+                }
+                column++;
+            }
+            if(column != NO_OF_SQUARES_PER_ROW) {
+                throw new IllegalArgumentException("Invalid FEN piece placement, rank " +
+                        (NO_OF_SQUARES_PER_ROW - row) + " does not hold 8 squares: " + fen);
+            }
+        }
+        for(final Color color : Color.values()) {
+            if(noOfKings[color.ordinal()] != 1) {
+                throw new IllegalArgumentException("Invalid FEN piece placement, " + color +
+                        " needs exactly one king: " + fen);
+            }
+        }
+        builder.setMoveMaker(nextMoveMaker);
+        builder.setEnPassantPawn(enPassantPawn);
+        builder.setHalfMoveClock(halfMoveClock);
+        return builder.build();
+    }
+
+    public static String createFENFromGame(final Board board) {
+        return calculatePiecePlacement(board) + " " +
+                (board.getNextMoveMaker().isWhite() ? "w" : "b") + " " +
+                calculateCastlingText(board.getCastlingRights()) + " " +
+                (board.getEnPassantSquare() == NO_SQUARE ? "-" : getPositionAtCoordinate(board.getEnPassantSquare())) + " " +
+                board.getHalfMoveClock() + " 1";
+    }
+
+    private static Color parseMoveMaker(final String moveMakerPart) {
+        if(moveMakerPart.equals("w")) {
+            return Color.WHITE;
+        } else if(moveMakerPart.equals("b")) {
+            return Color.BLACK;
+        }
+        throw new IllegalArgumentException("Invalid FEN side to move: " + moveMakerPart);
+    }
+
+    private static int parseHalfMoveClock(final String halfMoveClockPart) {
+        try {
+            final int halfMoveClock = Integer.parseInt(halfMoveClockPart);
+            if(halfMoveClock >= 0) {
+                return halfMoveClock;
+            }
+        } catch (final NumberFormatException e) {
+            //reported below like every other malformed field
+        }
+        throw new IllegalArgumentException("Invalid FEN half move clock: " + halfMoveClockPart);
+    }
+
+    private static int parseEnPassantPawnPosition(final String enPassantPart, final Color nextMoveMaker) {
+        if(enPassantPart.equals("-")) {
+            return NO_SQUARE;
+        }
+        final int enPassantSquare = ALGEBRAIC_NOTATION.indexOf(enPassantPart);
+        if(enPassantSquare == NO_SQUARE) {
+            throw new IllegalArgumentException("Invalid FEN en passant square: " + enPassantPart);
+        }
+        //the pawn that just jumped belongs to the side that is not on move and stands one row past the target square
+        return enPassantSquare + nextMoveMaker.opposite().getDirection() * NO_OF_SQUARES_PER_ROW;
+    }
+
+    private static Piece.PieceType parsePieceType(final char symbol) {
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            if(pieceType.toString().charAt(0) == Character.toUpperCase(symbol)) {
+                return pieceType;
+            }
+        }
+        throw new IllegalArgumentException("Invalid FEN piece: " + symbol);
+    }
+
+    private static boolean isFirstMove(final Piece.PieceType pieceType, final Color pieceColor,
+                                       final int squareCoordinate, final String castlingPart) {
+        final boolean isWhite = pieceColor.isWhite();
+        switch (pieceType) {
+            case PAWN:
+                return isWhite ? SEVENTH_ROW[squareCoordinate] : SECOND_ROW[squareCoordinate];
+            case KING:
+                return squareCoordinate == (isWhite ? 60 : 4) &&
+                        (castlingPart.indexOf(isWhite ? 'K' : 'k') >= 0 || castlingPart.indexOf(isWhite ? 'Q' : 'q') >= 0);
+            case ROOK:
+                if(squareCoordinate == (isWhite ? 63 : 7)) {
+                    return castlingPart.indexOf(isWhite ? 'K' : 'k') >= 0;
+                } else if(squareCoordinate == (isWhite ? 56 : 0)) {
+                    return castlingPart.indexOf(isWhite ? 'Q' : 'q') >= 0;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private static String calculatePiecePlacement(final Board board) {
+        final StringBuilder builder = new StringBuilder();
+        for(int row = 0; row < NO_OF_SQUARES_PER_ROW; row++) {
+            int emptySquares = 0;
+            for(int column = 0; column < NO_OF_SQUARES_PER_ROW; column++) {
+                final Piece piece = board.getPiece(row * NO_OF_SQUARES_PER_ROW + column);
+                if(piece == null) {
+                    emptySquares++;
+                    continue;
+                }
+                if(emptySquares > 0) {
+                    builder.append(emptySquares);
+                    emptySquares = 0;
+                }
+                final String symbol = piece.getPieceType().toString();
+                builder.append(piece.getPieceColor().isWhite() ? symbol : symbol.toLowerCase(Locale.ROOT));
+            }
+            if(emptySquares > 0) {
+                builder.append(emptySquares);
+            }
+            if(row < NO_OF_SQUARES_PER_ROW - 1) {
+                builder.append('/');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String calculateCastlingText(final int castlingRights) {
+        final StringBuilder builder = new StringBuilder();
+        if((castlingRights & WHITE_KING_SIDE_CASTLE) != 0) {
+            builder.append('K');
+        }
+        if((castlingRights & WHITE_QUEEN_SIDE_CASTLE) != 0) {
+            builder.append('Q');
+        }
+        if((castlingRights & BLACK_KING_SIDE_CASTLE) != 0) {
+            builder.append('k');
+        }
+        if((castlingRights & BLACK_QUEEN_SIDE_CASTLE) != 0) {
+            builder.append('q');
+        }
+        return builder.length() == 0 ? "-" : builder.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.chess.game.board;
+
+public enum GameStatus {
+    ONGOING {
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return false;
+        }
+    },
+    CHECK {
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return false;
+        }
+    },
+    CHECKMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return false;
+        }
+    },
+    STALEMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return true;
+        }
+    },
+    INSUFFICIENT_MATERIAL {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return true;
+        }
+    },
+    FIFTY_MOVE_RULE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return true;
+        }
+    };
+
+    public abstract boolean isGameOver();
+    public abstract boolean isDraw();
+}
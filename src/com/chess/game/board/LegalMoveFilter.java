@@ -0,0 +1,107 @@
+package com.chess.game.board;
+
+import com.chess.game.Color;
+import com.chess.game.piece.Piece;
+
+import static com.chess.game.board.BoardUtils.*;
+
+//works out the checking and pinned pieces of one side once, then tells which of its generated moves are legal
+public class LegalMoveFilter {
+
+    private final long[] pieceBitboards;
+    private final long occupancy;
+    private final Color color;
+    private final int kingCoordinate;
+    private final long checkers;
+    private final long checkMask;
+    private final long pinnedPieces;
+
+    LegalMoveFilter(final long[] pieceBitboards, final long occupancy, final Color color) {
+        this.pieceBitboards = pieceBitboards;
+        this.occupancy = occupancy;
+        this.color = color;
+        this.kingCoordinate = Long.numberOfTrailingZeros(pieceBitboards[bitboardIndex(Piece.PieceType.KING, color)]);
+        this.checkers = calculateAttackers(pieceBitboards, occupancy, this.kingCoordinate, color.opposite());
+        this.checkMask = calculateCheckMask(this.kingCoordinate, this.checkers);
+        this.pinnedPieces = calculatePinnedPieces();
+    }
+
+    public boolean isInCheck() {
+        return this.checkers != 0L;
+    }
+
+    public boolean isLegal(final int move) {
+        final int from = MoveUtils.getCurrentCoordinate(move);
+        final int to = MoveUtils.getDestinationCoordinate(move);
+        if(from == this.kingCoordinate) {
+            //castles are only generated when the king and the squares it crosses are safe
+            return MoveUtils.isCastle(move) ||
+                    !isSquareAttacked(this.pieceBitboards, this.occupancy ^ squareBit(from), to, this.color.opposite());
+        }
+        if(Long.bitCount(this.checkers) > 1) {
+            return false;
+        }
+        if(MoveUtils.getKind(move) == MoveUtils.EN_PASSANT) {
+            return isEnPassantLegal(from, to);
+        }
+        if((this.checkMask & squareBit(to)) == 0L) {
+            return false;
+        }
+        return (this.pinnedPieces & squareBit(from)) == 0L || (LINE[this.kingCoordinate][from] & squareBit(to)) != 0L;
+    }
+
+    //keeps the legal moves from start on in their generated order and drops the rest
+    public void filter(final MoveList moves, final int start) {
+        int legalCount = start;
+        for(int i = start; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if(isLegal(move)) {
+                moves.set(legalCount++, move);
+            }
+        }
+        moves.truncate(legalCount);
+    }
+
+    private static long calculateCheckMask(final int kingCoordinate, final long checkers) {
+        if(checkers == 0L) {
+            return -1L;
+        }
+        return checkers | BETWEEN[kingCoordinate][Long.numberOfTrailingZeros(checkers)];
+    }
+
+    private long calculatePinnedPieces() {
+        final Color opponent = this.color.opposite();
+        final long queens = this.pieceBitboards[bitboardIndex(Piece.PieceType.QUEEN, opponent)];
+        long snipers = (MagicBitboards.rookAttacks(this.kingCoordinate, 0L) &
+                (this.pieceBitboards[bitboardIndex(Piece.PieceType.ROOK, opponent)] | queens)) |
+                (MagicBitboards.bishopAttacks(this.kingCoordinate, 0L) &
+                        (this.pieceBitboards[bitboardIndex(Piece.PieceType.BISHOP, opponent)] | queens));
+        long pinnedPieces = 0L;
+        while(snipers != 0L) {
+            final long blockers = BETWEEN[this.kingCoordinate][Long.numberOfTrailingZeros(snipers)] & this.occupancy;
+            if(Long.bitCount(blockers) == 1) {
+                pinnedPieces |= blockers;
+            }
+            snipers &= snipers - 1;
+        }
+        //a lone opponent piece in between only blocks the sniper
+        return pinnedPieces & ownPieces();
+    }
+
+    private long ownPieces() {
+        long ownPieces = 0L;
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            ownPieces |= this.pieceBitboards[bitboardIndex(pieceType, this.color)];
+        }
+        return ownPieces;
+    }
+
+    //en passant removes two pawns from the same row at once, which a pin mask cannot describe, so look at the king
+    //again with both pawns gone; the captured pawn is masked out of the attackers instead of copying the bitboards
+    private boolean isEnPassantLegal(final int from, final int to) {
+        final long capturedPawn = squareBit(to - this.color.getDirection() * NO_OF_SQUARES_PER_ROW);
+        final long occupancy = this.occupancy ^ squareBit(from) ^ squareBit(to) ^ capturedPawn;
+        return (calculateAttackers(this.pieceBitboards, occupancy, this.kingCoordinate, this.color.opposite()) &
+                ~capturedPawn) == 0L;
+    }
+}
@@ -2,7 +2,7 @@ package com.chess.game.board;
 
 import com.chess.game.piece.Pawn;
 import com.chess.game.piece.Piece;
-import com.chess.game.piece.Queen;
+import com.chess.game.piece.PieceUtils;
 import com.chess.game.piece.Rook;
 
 import static com.chess.game.board.Board.*;
@@ -78,27 +78,26 @@ public abstract class Move {
     }
 
     public Board execute() {
-        final Builder builder = new Builder();
-        for(final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            if(!this.pieceToBeMoved.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        for(final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
-        //move the piece to be moved
-        builder.setPiece(this.pieceToBeMoved.movePiece(this));
-        builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getColor());
+        final Builder builder = new Builder(this.board);
+        //move the piece to be moved, a captured piece is simply overwritten on its square
+        final Piece movedPiece = this.pieceToBeMoved.movePiece(this);
+        builder.clearSquare(this.pieceToBeMoved.getPiecePosition());
+        builder.setPiece(movedPiece);
+        builder.setMoveMaker(this.board.getNextMoveMaker().opposite());
+        builder.setHalfMoveClock(calculateHalfMoveClock());
+        builder.setZobristKey(Zobrist.calculateMoveKey(this.board, this.pieceToBeMoved, movedPiece, getAttackedPiece(),
+                BoardUtils.NO_SQUARE));
         return builder.build();
     }
 
+    //captures and pawn moves cannot be taken back, so they restart the count towards the fifty move rule
+    protected int calculateHalfMoveClock() {
+        return isAttack() || this.pieceToBeMoved.getPieceType() == Piece.PieceType.PAWN ? 0 : this.board.getHalfMoveClock() + 1;
+    }
+
     public Board undo() {
-        final Builder builder = new Builder();
-        for(final Piece piece : this.board.getAllPieces()){
-            builder.setPiece(piece);
-        }
-        builder.setMoveMaker(this.board.getCurrentPlayer().getColor());
+        final Builder builder = new Builder(this.board);
+        builder.setHalfMoveClock(this.board.getHalfMoveClock());
         return builder.build();
     }
 
@@ -178,20 +177,16 @@ public abstract class Move {
         }
         @Override
         public Board execute(){
-            final Board pawnMovedBoard = this.decoratedMove.execute();
-            final Builder builder = new Builder();
-            for(final Piece piece : pawnMovedBoard.getCurrentPlayer().getActivePieces()) {
-                if(!this.promotedPawn.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for(final Piece piece : pawnMovedBoard.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
             //Make the promoted Pawn to be a Queen
-            builder.setPiece(new Queen(decoratedMove.getDestinationCoordinate(), decoratedMove.pieceToBeMoved.getPieceColor(),
-                    false));
-            builder.setMoveMaker(decoratedMove.board.getCurrentPlayer().getOpponent().getColor());
+            final Piece promotedQueen = PieceUtils.getPiece(Piece.PieceType.QUEEN, decoratedMove.getDestinationCoordinate(),
+                    decoratedMove.pieceToBeMoved.getPieceColor(), false);
+            builder.clearSquare(this.promotedPawn.getPiecePosition());
+            builder.setPiece(promotedQueen);
+            builder.setMoveMaker(this.board.getNextMoveMaker().opposite());
+            builder.setHalfMoveClock(0);
+            builder.setZobristKey(Zobrist.calculateMoveKey(this.board, this.promotedPawn, promotedQueen,
+                    getAttackedPiece(), BoardUtils.NO_SQUARE));
             return builder.build();
         }
         @Override
@@ -251,19 +246,15 @@ public abstract class Move {
         }
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for( final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if(!this.pieceToBeMoved.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for(final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                if(!piece.equals(this.attackedPiece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            builder.setPiece(this.pieceToBeMoved.movePiece(this));
-            builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getColor());
+            final Builder builder = new Builder(this.board);
+            final Piece movedPiece = this.pieceToBeMoved.movePiece(this);
+            builder.clearSquare(this.pieceToBeMoved.getPiecePosition());
+            builder.clearSquare(this.attackedPiece.getPiecePosition());
+            builder.setPiece(movedPiece);
+            builder.setMoveMaker(this.board.getNextMoveMaker().opposite());
+            builder.setHalfMoveClock(calculateHalfMoveClock());
+            builder.setZobristKey(Zobrist.calculateMoveKey(this.board, this.pieceToBeMoved, movedPiece,
+                    this.attackedPiece, BoardUtils.NO_SQUARE));
             return builder.build();
         }
 
@@ -275,19 +266,15 @@ public abstract class Move {
         }
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if(!(this.pieceToBeMoved.equals(piece))) {
-                    builder.setPiece(piece);
-                }
-            }
-            for(final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
             final Pawn movedPawn = (Pawn) this.pieceToBeMoved.movePiece(this);
+            builder.clearSquare(this.pieceToBeMoved.getPiecePosition());
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
-            builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getColor());
+            builder.setMoveMaker(this.board.getNextMoveMaker().opposite());
+            builder.setHalfMoveClock(calculateHalfMoveClock());
+            builder.setZobristKey(Zobrist.calculateMoveKey(this.board, this.pieceToBeMoved, movedPawn, null,
+                    (this.pieceToBeMoved.getPiecePosition() + this.destinationCoordinate) / 2));
             return builder.build();
         }
         @Override
@@ -323,18 +310,18 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if(!(this.pieceToBeMoved.equals(piece)) && !(this.castleRook.equals(piece))) {
-                    builder.setPiece(piece);
-                }
-            }
-            for(final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
-            builder.setPiece(this.pieceToBeMoved.movePiece(this));
-            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceColor(),false));
-            builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getColor());
+            final Builder builder = new Builder(this.board);
+            final Piece movedKing = this.pieceToBeMoved.movePiece(this);
+            final Piece movedRook = PieceUtils.getPiece(Piece.PieceType.ROOK, this.castleRookDestination,
+                    this.castleRook.getPieceColor(), false);
+            builder.clearSquare(this.pieceToBeMoved.getPiecePosition());
+            builder.clearSquare(this.castleRookStart);
+            builder.setPiece(movedKing);
+            builder.setPiece(movedRook);
+            builder.setMoveMaker(this.board.getNextMoveMaker().opposite());
+            builder.setHalfMoveClock(calculateHalfMoveClock());
+            builder.setZobristKey(Zobrist.calculateMoveKey(this.board, this.pieceToBeMoved, movedKing, null,
+                    BoardUtils.NO_SQUARE) ^ Zobrist.pieceKey(this.castleRook) ^ Zobrist.pieceKey(movedRook));
             return builder.build();
         }
         @Override
@@ -439,18 +426,31 @@ public abstract class Move {
     }
 
     public static class MoveFactory {
+        private static final Move NULL_MOVE = new NullMove();
+
         public MoveFactory() {
             throw new RuntimeException("Cannot instantiate move factory");
         }
 
+        public static Move getNullMove() {
+            return NULL_MOVE;
+        }
+
+        //pawns reaching the last row promote to a queen unless told otherwise
         public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate) {
-            for (final Move move : board.getAllLegalMoves()) {
-                if( move.getCurrentCoordinate() == currentCoordinate &&
-                    move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
+            final Move move = createMove(board, currentCoordinate, destinationCoordinate, null);
+            return move != NULL_MOVE ? move : createMove(board, currentCoordinate, destinationCoordinate, Piece.PieceType.QUEEN);
+        }
+
+        public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate,
+                                      final Piece.PieceType promotionPieceType) {
+            final Move move = board.getCurrentPlayer().findLegalMove(currentCoordinate, destinationCoordinate,
+                    promotionPieceType);
+            if(move != NULL_MOVE) {
+                return move;
             }
-            return new NullMove();
+            return board.getCurrentPlayer().getOpponent().findLegalMove(currentCoordinate, destinationCoordinate,
+                    promotionPieceType);
         }
     }
 }
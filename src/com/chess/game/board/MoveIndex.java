@@ -0,0 +1,56 @@
+package com.chess.game.board;
+
+import com.chess.game.piece.Piece;
+
+import java.util.Collection;
+
+//open addressing table of the legal moves of a position, keyed by squares and promotion piece
+public class MoveIndex {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private final int[] keys;
+    private final Move[] moves;
+    private final int mask;
+
+    public MoveIndex(final Collection<Move> legalMoves) {
+        final int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, legalMoves.size() * 2) - 1) << 1;
+        this.keys = new int[capacity];
+        this.moves = new Move[capacity];
+        this.mask = capacity - 1;
+        for(final Move move : legalMoves) {
+            final int key = MoveUtils.getLookupKey(MoveUtils.encode(move));
+            int slot = slot(key);
+            while(this.moves[slot] != null && this.keys[slot] != key) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.keys[slot] = key;
+            this.moves[slot] = move;
+        }
+    }
+
+    public Move get(final int currentCoordinate, final int destinationCoordinate, final Piece.PieceType promotionPieceType) {
+        return get(MoveUtils.getLookupKey(currentCoordinate, destinationCoordinate, promotionPieceType));
+    }
+
+    public boolean contains(final Move move) {
+        final Move indexedMove = get(MoveUtils.getLookupKey(MoveUtils.encode(move)));
+        return indexedMove != null && indexedMove.equals(move);
+    }
+
+    private Move get(final int key) {
+        int slot = slot(key);
+        while(this.moves[slot] != null) {
+            if(this.keys[slot] == key) {
+                return this.moves[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return null;
+    }
+
+    private int slot(final int key) {
+        final int hash = key * 0x9E3779B9;
+        return (hash ^ hash >>> 16) & this.mask;
+    }
+}
@@ -0,0 +1,149 @@
+package com.chess.game.board;
+
+import com.chess.game.Color;
+import com.chess.game.piece.Piece;
+
+import static com.chess.game.board.BoardUtils.*;
+
+public class MoveOrdering {
+
+    //the victim outweighs any attacker, so capturing a rook with the king still comes before capturing a knight
+    private static final int VICTIM_WEIGHT = 100;
+    private static final int PROMOTION_GAIN =
+            Piece.PieceType.QUEEN.getPieceValue() - Piece.PieceType.PAWN.getPieceValue();
+    //two sides with every piece on the board attacking one square cannot exchange more often than this
+    private static final int MAX_EXCHANGES = 32;
+    private static final Piece.PieceType[] LEAST_VALUABLE_FIRST = {Piece.PieceType.PAWN, Piece.PieceType.KNIGHT,
+            Piece.PieceType.BISHOP, Piece.PieceType.ROOK, Piece.PieceType.QUEEN, Piece.PieceType.KING};
+
+    private MoveOrdering() {
+        throw new RuntimeException("Cannot instantiate Move Ordering!");
+    }
+
+    //most valuable victim, least valuable attacker; a promotion counts as winning the difference to a queen
+    public static int calculateMvvLvaScore(final Piece.PieceType attackerType, final Piece.PieceType victimType,
+                                           final boolean isPromotion) {
+        final int victimValue = victimType == null ? 0 : victimType.getPieceValue();
+        return (victimValue + (isPromotion ? PROMOTION_GAIN : 0)) * VICTIM_WEIGHT - attackerType.getPieceValue();
+    }
+
+    public static int calculateMvvLvaScore(final Move move) {
+        return calculateMvvLvaScore(move.getPieceToBeMoved().getPieceType(),
+                move.isAttack() ? move.getAttackedPiece().getPieceType() : null, move instanceof Move.PawnPromotion);
+    }
+
+    public static int calculateMvvLvaScore(final Board board, final int move) {
+        final Piece attackedPiece = MoveUtils.getKind(move) == MoveUtils.EN_PASSANT ? board.getEnPassantPawn() :
+                board.getPiece(MoveUtils.getDestinationCoordinate(move));
+        return calculateMvvLvaScore(board.getPiece(MoveUtils.getCurrentCoordinate(move)).getPieceType(),
+                MoveUtils.isAttack(move) ? attackedPiece.getPieceType() : null, MoveUtils.isPromotion(move));
+    }
+
+    //insertion sort, the captures of one position are few enough that scoring on every comparison is cheaper than
+    //keeping the scores somewhere
+    public static void sortByMvvLva(final Board board, final MoveList moves, final int start) {
+        for(int i = start + 1; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            final int score = calculateMvvLvaScore(board, move);
+            int j = i - 1;
+            while(j >= start && calculateMvvLvaScore(board, moves.get(j)) < score) {
+                moves.set(j + 1, moves.get(j));
+                j--;
+            }
+            moves.set(j + 1, move);
+        }
+    }
+
+    public static int calculateStaticExchange(final Move move) {
+        return move.getBoard().calculateStaticExchange(MoveUtils.encode(move));
+    }
+
+    //plays out every capture on the destination square with the least valuable attacker of each side in turn, sliders
+    //behind the pieces that already captured join in as they are uncovered, and either side may stop capturing
+    //whenever that is better for it; the result is the material the moving side ends up winning or losing
+    static int calculateStaticExchange(final long[] pieceBitboards, final long occupancy, final Color color,
+                                       final int move) {
+        final int from = MoveUtils.getCurrentCoordinate(move);
+        final int to = MoveUtils.getDestinationCoordinate(move);
+        final int[] gain = new int[MAX_EXCHANGES];
+        long remainingOccupancy = occupancy ^ squareBit(from);
+        if(MoveUtils.getKind(move) == MoveUtils.EN_PASSANT) {
+            remainingOccupancy ^= squareBit(to - color.getDirection() * NO_OF_SQUARES_PER_ROW);
+            gain[0] = Piece.PieceType.PAWN.getPieceValue();
+        } else {
+            gain[0] = MoveUtils.isAttack(move) ? findPieceType(pieceBitboards, to, color.opposite()).getPieceValue() : 0;
+        }
+        int valueOnSquare = findPieceType(pieceBitboards, from, color).getPieceValue();
+        if(MoveUtils.isPromotion(move)) {
+            gain[0] += PROMOTION_GAIN;
+            valueOnSquare = Piece.PieceType.QUEEN.getPieceValue();
+        }
+
+        final long diagonalSliders = pieceBitboards[bitboardIndex(Piece.PieceType.BISHOP, Color.WHITE)] |
+                pieceBitboards[bitboardIndex(Piece.PieceType.BISHOP, Color.BLACK)] |
+                pieceBitboards[bitboardIndex(Piece.PieceType.QUEEN, Color.WHITE)] |
+                pieceBitboards[bitboardIndex(Piece.PieceType.QUEEN, Color.BLACK)];
+        final long straightSliders = pieceBitboards[bitboardIndex(Piece.PieceType.ROOK, Color.WHITE)] |
+                pieceBitboards[bitboardIndex(Piece.PieceType.ROOK, Color.BLACK)] |
+                pieceBitboards[bitboardIndex(Piece.PieceType.QUEEN, Color.WHITE)] |
+                pieceBitboards[bitboardIndex(Piece.PieceType.QUEEN, Color.BLACK)];
+        long attackers = (calculateAttackers(pieceBitboards, remainingOccupancy, to, Color.WHITE) |
+                calculateAttackers(pieceBitboards, remainingOccupancy, to, Color.BLACK)) & remainingOccupancy;
+
+        Color side = color.opposite();
+        int depth = 0;
+        while(depth < MAX_EXCHANGES - 1) {
+            Piece.PieceType attackerType = null;
+            long candidates = 0L;
+            for(final Piece.PieceType pieceType : LEAST_VALUABLE_FIRST) {
+                candidates = attackers & pieceBitboards[bitboardIndex(pieceType, side)];
+                if(candidates != 0L) {
+                    attackerType = pieceType;
+                    break;
+                }
+            }
+            if(attackerType == null) {
+                break;
+            }
+            final long attackerBit = candidates & -candidates;
+            remainingOccupancy ^= attackerBit;
+            attackers = (attackers | (MagicBitboards.bishopAttacks(to, remainingOccupancy) & diagonalSliders) |
+                    (MagicBitboards.rookAttacks(to, remainingOccupancy) & straightSliders)) & remainingOccupancy;
+            //the king may only take last, while the other side still attacks the square it would be captured
+            if(attackerType.isKing() && (attackers & calculateOccupancy(pieceBitboards, side.opposite())) != 0L) {
+                break;
+            }
+            depth++;
+            gain[depth] = valueOnSquare - gain[depth - 1];
+            valueOnSquare = attackerType.getPieceValue();
+            if(attackerType == Piece.PieceType.PAWN && side.isPawnPromotionSquare(to)) {
+                gain[depth] += PROMOTION_GAIN;
+                valueOnSquare = Piece.PieceType.QUEEN.getPieceValue();
+            }
+            side = side.opposite();
+        }
+        while(depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    private static Piece.PieceType findPieceType(final long[] pieceBitboards, final int squareCoordinate,
+                                                 final Color color) {
+        for(final Piece.PieceType pieceType : LEAST_VALUABLE_FIRST) {
+            if((pieceBitboards[bitboardIndex(pieceType, color)] & squareBit(squareCoordinate)) != 0L) {
+                return pieceType;
+            }
+        }
+        throw new IllegalArgumentException("No " + color + " piece on " + getPositionAtCoordinate(squareCoordinate));
+    }
+
+    private static long calculateOccupancy(final long[] pieceBitboards, final Color color) {
+        long occupancy = 0L;
+        for(final Piece.PieceType pieceType : LEAST_VALUABLE_FIRST) {
+            occupancy |= pieceBitboards[bitboardIndex(pieceType, color)];
+        }
+        return occupancy;
+    }
+}
@@ -0,0 +1,167 @@
+package com.chess.game.board;
+
+import com.chess.game.piece.Piece;
+import com.chess.game.piece.Rook;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.Locale;
+
+public class MoveUtils {
+
+    //an encoded move is an int: from square (6 bits), destination (6 bits), kind (3 bits), capture flag (1 bit)
+    //and promotion piece (3 bits, PieceType ordinal + 1, zero when the move does not promote)
+    public static final int NULL_MOVE = 0;
+
+    public static final int NORMAL = 0;
+    public static final int PAWN_MOVE = 1;
+    public static final int PAWN_JUMP = 2;
+    public static final int EN_PASSANT = 3;
+    public static final int KING_SIDE_CASTLE = 4;
+    public static final int QUEEN_SIDE_CASTLE = 5;
+
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int KIND_SHIFT = 12;
+    private static final int CAPTURE_FLAG = 1 << 15;
+    private static final int PROMOTION_SHIFT = 16;
+    private static final int LOOKUP_KEY_MASK = 0xFFF | 0x7 << PROMOTION_SHIFT;
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+
+    private MoveUtils() {
+        throw new RuntimeException("Cannot instantiate Move Utils!");
+    }
+
+    public static int encode(final int currentCoordinate, final int destinationCoordinate, final int kind,
+                             final boolean isAttack) {
+        return currentCoordinate | destinationCoordinate << DESTINATION_SHIFT | kind << KIND_SHIFT |
+                (isAttack ? CAPTURE_FLAG : 0);
+    }
+
+    public static int encodePromotion(final int currentCoordinate, final int destinationCoordinate,
+                                      final boolean isAttack, final Piece.PieceType promotionPieceType) {
+        return encode(currentCoordinate, destinationCoordinate, PAWN_MOVE, isAttack) |
+                (promotionPieceType.ordinal() + 1) << PROMOTION_SHIFT;
+    }
+
+    public static int getCurrentCoordinate(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int getDestinationCoordinate(final int move) {
+        return (move >>> DESTINATION_SHIFT) & 0x3F;
+    }
+
+    public static int getKind(final int move) {
+        return (move >>> KIND_SHIFT) & 0x7;
+    }
+
+    public static boolean isAttack(final int move) {
+        return (move & CAPTURE_FLAG) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (move >>> PROMOTION_SHIFT) != 0;
+    }
+
+    public static boolean isCastle(final int move) {
+        final int kind = getKind(move);
+        return kind == KING_SIDE_CASTLE || kind == QUEEN_SIDE_CASTLE;
+    }
+
+    public static Piece.PieceType getPromotionPieceType(final int move) {
+        final int promotion = move >>> PROMOTION_SHIFT;
+        return promotion == 0 ? null : PIECE_TYPES[promotion - 1];
+    }
+
+    //the squares and promotion piece, which tell the legal moves of one position apart
+    public static int getLookupKey(final int move) {
+        return move & LOOKUP_KEY_MASK;
+    }
+
+    public static int getLookupKey(final int currentCoordinate, final int destinationCoordinate,
+                                   final Piece.PieceType promotionPieceType) {
+        return currentCoordinate | destinationCoordinate << DESTINATION_SHIFT |
+                (promotionPieceType == null ? 0 : (promotionPieceType.ordinal() + 1) << PROMOTION_SHIFT);
+    }
+
+    public static int getCastleRookStart(final int move) {
+        final int kingDestination = getDestinationCoordinate(move);
+        return getKind(move) == QUEEN_SIDE_CASTLE ? kingDestination - 2 : kingDestination + 1;
+    }
+
+    public static int getCastleRookDestination(final int move) {
+        final int kingDestination = getDestinationCoordinate(move);
+        return getKind(move) == QUEEN_SIDE_CASTLE ? kingDestination + 1 : kingDestination - 1;
+    }
+
+    public static int encode(final Move move) {
+        if(move instanceof Move.NullMove) {
+            return NULL_MOVE;
+        }
+        final int currentCoordinate = move.getCurrentCoordinate();
+        final int destinationCoordinate = move.getDestinationCoordinate();
+        if(move instanceof Move.PawnPromotion) {
+            return encodePromotion(currentCoordinate, destinationCoordinate, move.isAttack(), Piece.PieceType.QUEEN);
+        } else if(move instanceof Move.KingSideCastleMove) {
+            return encode(currentCoordinate, destinationCoordinate, KING_SIDE_CASTLE, false);
+        } else if(move instanceof Move.QueenSideCastleMove) {
+            return encode(currentCoordinate, destinationCoordinate, QUEEN_SIDE_CASTLE, false);
+        } else if(move instanceof Move.PawnEnPassantAttackMove) {
+            return encode(currentCoordinate, destinationCoordinate, EN_PASSANT, true);
+        } else if(move instanceof Move.PawnJumpMove) {
+            return encode(currentCoordinate, destinationCoordinate, PAWN_JUMP, false);
+        } else if(move instanceof Move.PawnBasicMove || move instanceof Move.PawnAttackMove) {
+            return encode(currentCoordinate, destinationCoordinate, PAWN_MOVE, move.isAttack());
+        }
+        return encode(currentCoordinate, destinationCoordinate, NORMAL, move.isAttack());
+    }
+
+    public static Move toMove(final Board board, final int move) {
+        if(move == NULL_MOVE) {
+            return Move.MoveFactory.getNullMove();
+        }
+        final int currentCoordinate = getCurrentCoordinate(move);
+        final int destinationCoordinate = getDestinationCoordinate(move);
+        final Piece pieceToBeMoved = board.getPiece(currentCoordinate);
+        final Piece attackedPiece = board.getPiece(destinationCoordinate);
+        switch (getKind(move)) {
+            case PAWN_MOVE:
+                final Move pawnMove = isAttack(move) ?
+                        new Move.PawnAttackMove(board, pieceToBeMoved, destinationCoordinate, attackedPiece) :
+                        new Move.PawnBasicMove(board, pieceToBeMoved, destinationCoordinate);
+                return isPromotion(move) ? new Move.PawnPromotion(pawnMove) : pawnMove;
+            case PAWN_JUMP:
+                return new Move.PawnJumpMove(board, pieceToBeMoved, destinationCoordinate);
+            case EN_PASSANT:
+                return new Move.PawnEnPassantAttackMove(board, pieceToBeMoved, destinationCoordinate,
+                        board.getEnPassantPawn());
+            case KING_SIDE_CASTLE:
+                return new Move.KingSideCastleMove(board, pieceToBeMoved, destinationCoordinate,
+                        (Rook) board.getPiece(getCastleRookStart(move)), getCastleRookStart(move),
+                        getCastleRookDestination(move));
+            case QUEEN_SIDE_CASTLE:
+                return new Move.QueenSideCastleMove(board, pieceToBeMoved, destinationCoordinate,
+                        (Rook) board.getPiece(getCastleRookStart(move)), getCastleRookStart(move),
+                        getCastleRookDestination(move));
+            default:
+                return isAttack(move) ?
+                        new Move.AttackMove(board, pieceToBeMoved, destinationCoordinate, attackedPiece) :
+                        new Move.BasicMove(board, pieceToBeMoved, destinationCoordinate);
+        }
+    }
+
+    public static Collection<Move> toMoves(final Board board, final MoveList moves) {
+        final ImmutableList.Builder<Move> builder = ImmutableList.builderWithExpectedSize(moves.size());
+        for(int i = 0; i < moves.size(); i++) {
+            builder.add(toMove(board, moves.get(i)));
+        }
+        return builder.build();
+    }
+
+    public static String toAlgebraic(final int move) {
+        final Piece.PieceType promotionPieceType = getPromotionPieceType(move);
+        return BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+                BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(move)) +
+                (promotionPieceType == null ? "" : promotionPieceType.toString().toLowerCase(Locale.ROOT));
+    }
+}
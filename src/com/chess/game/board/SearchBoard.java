@@ -0,0 +1,323 @@
+package com.chess.game.board;
+
+import com.chess.game.Color;
+import com.chess.game.piece.Pawn;
+import com.chess.game.piece.Piece;
+import com.chess.game.piece.PieceUtils;
+
+import java.util.Arrays;
+
+import static com.chess.game.board.BoardUtils.*;
+
+public class SearchBoard {
+
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final int EMPTY = -1;
+    private static final int INITIAL_UNDO_CAPACITY = 256;
+
+    private final long[] pieceBitboards;
+    private final long[] occupancies;
+    private final int[] squares;
+    private long unmovedPieces;
+    private Color nextMoveMaker;
+    private int castlingRights;
+    private int enPassantSquare;
+    private long zobristKey;
+    private long[] undoStack;
+    private long[] zobristKeyHistory;
+    private int undoCount;
+
+    public SearchBoard(final Board board) {
+        this.pieceBitboards = new long[NO_OF_PIECE_BITBOARDS];
+        this.occupancies = new long[Color.values().length];
+        this.squares = new int[NO_OF_SQUARES];
+        Arrays.fill(this.squares, EMPTY);
+        for(final Piece piece : board.getAllPieces()) {
+            putPiece(bitboardIndex(piece.getPieceType(), piece.getPieceColor()), piece.getPiecePosition());
+            if(piece.isFirstMove()) {
+                this.unmovedPieces |= squareBit(piece.getPiecePosition());
+            }
+        }
+        this.nextMoveMaker = board.getNextMoveMaker();
+        this.castlingRights = board.getCastlingRights();
+        this.enPassantSquare = board.getEnPassantSquare();
+        this.zobristKey = board.getZobristKey();
+        this.undoStack = new long[INITIAL_UNDO_CAPACITY];
+        this.zobristKeyHistory = new long[INITIAL_UNDO_CAPACITY];
+        this.undoCount = 0;
+    }
+
+    public Color getNextMoveMaker() {
+        return this.nextMoveMaker;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public long getPieceBitboard(final Piece.PieceType pieceType, final Color pieceColor) {
+        return this.pieceBitboards[bitboardIndex(pieceType, pieceColor)];
+    }
+
+    public long getOccupancy(final Color color) {
+        return this.occupancies[color.ordinal()];
+    }
+
+    public long getAllOccupancy() {
+        return this.occupancies[Color.WHITE.ordinal()] | this.occupancies[Color.BLACK.ordinal()];
+    }
+
+    public int getPly() {
+        return this.undoCount;
+    }
+
+    public void makeMove(final Move move) {
+        if(move instanceof Move.NullMove) {
+            throw new RuntimeException("Cannot make null move");
+        }
+        makeMove(MoveUtils.encode(move));
+    }
+
+    public void makeMove(final int move) {
+        final int from = MoveUtils.getCurrentCoordinate(move);
+        final int to = MoveUtils.getDestinationCoordinate(move);
+        final int kind = MoveUtils.getKind(move);
+        final int movedPiece = this.squares[from];
+        final int capturedSquare = kind == MoveUtils.EN_PASSANT ?
+                to + this.nextMoveMaker.getOppositeDirection() * NO_OF_SQUARES_PER_ROW : to;
+        final int capturedPiece = this.squares[capturedSquare];
+        final int rookStart = MoveUtils.isCastle(move) ? MoveUtils.getCastleRookStart(move) : from;
+
+        //the move itself takes the low 32 bits, the state needed to take it back sits above it
+        pushUndo((move & 0xFFFFFFFFL) | (capturedPiece + 1L) << 32 | (this.enPassantSquare + 1L) << 36 |
+                unmovedFlag(from) << 43 | unmovedFlag(capturedSquare) << 44 | unmovedFlag(rookStart) << 45 |
+                (long) this.castlingRights << 46);
+
+        long key = this.zobristKey ^ Zobrist.sideToMoveKey();
+        if(capturedPiece != EMPTY) {
+            removePiece(capturedPiece, capturedSquare);
+            key ^= Zobrist.pieceKey(capturedPiece, capturedSquare);
+        }
+        final int placedPiece = MoveUtils.isPromotion(move) ?
+                bitboardIndex(MoveUtils.getPromotionPieceType(move), this.nextMoveMaker) : movedPiece;
+        removePiece(movedPiece, from);
+        putPiece(placedPiece, to);
+        key ^= Zobrist.pieceKey(movedPiece, from) ^ Zobrist.pieceKey(placedPiece, to);
+        if(rookStart != from) {
+            final int rookPiece = this.squares[rookStart];
+            final int rookDestination = MoveUtils.getCastleRookDestination(move);
+            removePiece(rookPiece, rookStart);
+            putPiece(rookPiece, rookDestination);
+            key ^= Zobrist.pieceKey(rookPiece, rookStart) ^ Zobrist.pieceKey(rookPiece, rookDestination);
+        }
+        final int newCastlingRights = this.castlingRights & CASTLING_RIGHTS_MASKS[from] & CASTLING_RIGHTS_MASKS[to];
+        final int newEnPassantSquare = kind == MoveUtils.PAWN_JUMP ? (from + to) / 2 : NO_SQUARE;
+        key ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(newCastlingRights) ^
+                Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(newEnPassantSquare);
+
+        this.unmovedPieces &= ~(squareBit(from) | squareBit(capturedSquare) | squareBit(rookStart));
+        this.castlingRights = newCastlingRights;
+        this.enPassantSquare = newEnPassantSquare;
+        this.zobristKey = key;
+        this.nextMoveMaker = this.nextMoveMaker.opposite();
+    }
+
+    public void unmakeMove() {
+        if(this.undoCount == 0) {
+            throw new RuntimeException("No move to unmake");
+        }
+        final long undo = this.undoStack[--this.undoCount];
+        final int move = (int) undo;
+        final int from = MoveUtils.getCurrentCoordinate(move);
+        final int to = MoveUtils.getDestinationCoordinate(move);
+        final int capturedPiece = (int) ((undo >>> 32) & 0xF) - 1;
+
+        this.nextMoveMaker = this.nextMoveMaker.opposite();
+        this.enPassantSquare = (int) ((undo >>> 36) & 0x7F) - 1;
+        this.castlingRights = (int) ((undo >>> 46) & ALL_CASTLING_RIGHTS);
+        this.zobristKey = this.zobristKeyHistory[this.undoCount];
+
+        final int capturedSquare = MoveUtils.getKind(move) == MoveUtils.EN_PASSANT ?
+                to + this.nextMoveMaker.getOppositeDirection() * NO_OF_SQUARES_PER_ROW : to;
+        final int rookStart = MoveUtils.isCastle(move) ? MoveUtils.getCastleRookStart(move) : from;
+        if(rookStart != from) {
+            final int rookDestination = MoveUtils.getCastleRookDestination(move);
+            final int rookPiece = this.squares[rookDestination];
+            removePiece(rookPiece, rookDestination);
+            putPiece(rookPiece, rookStart);
+        }
+        final int movedPiece = MoveUtils.isPromotion(move) ?
+                bitboardIndex(Piece.PieceType.PAWN, this.nextMoveMaker) : this.squares[to];
+        removePiece(this.squares[to], to);
+        putPiece(movedPiece, from);
+        if(capturedPiece != EMPTY) {
+            putPiece(capturedPiece, capturedSquare);
+        }
+        this.unmovedPieces |= ((undo >>> 43) & 1L) << from | ((undo >>> 44) & 1L) << capturedSquare |
+                ((undo >>> 45) & 1L) << rookStart;
+    }
+
+    public void generateMoves(final MoveList moves) {
+        final Color us = this.nextMoveMaker;
+        final long own = getOccupancy(us);
+        final long enemy = getOccupancy(us.opposite());
+        final long occupancy = own | enemy;
+
+        generatePawnMoves(moves, us, enemy, occupancy);
+        long knights = getPieceBitboard(Piece.PieceType.KNIGHT, us);
+        while(knights != 0L) {
+            final int from = Long.numberOfTrailingZeros(knights);
+            addMoves(moves, from, KNIGHT_ATTACKS[from] & ~own, enemy);
+            knights &= knights - 1;
+        }
+        long diagonalSliders = getPieceBitboard(Piece.PieceType.BISHOP, us) | getPieceBitboard(Piece.PieceType.QUEEN, us);
+        while(diagonalSliders != 0L) {
+            final int from = Long.numberOfTrailingZeros(diagonalSliders);
+            addMoves(moves, from, MagicBitboards.bishopAttacks(from, occupancy) & ~own, enemy);
+            diagonalSliders &= diagonalSliders - 1;
+        }
+        long straightSliders = getPieceBitboard(Piece.PieceType.ROOK, us) | getPieceBitboard(Piece.PieceType.QUEEN, us);
+        while(straightSliders != 0L) {
+            final int from = Long.numberOfTrailingZeros(straightSliders);
+            addMoves(moves, from, MagicBitboards.rookAttacks(from, occupancy) & ~own, enemy);
+            straightSliders &= straightSliders - 1;
+        }
+        final long king = getPieceBitboard(Piece.PieceType.KING, us);
+        if(king != 0L) {
+            final int from = Long.numberOfTrailingZeros(king);
+            addMoves(moves, from, KING_ATTACKS[from] & ~own, enemy);
+            BoardUtils.generateCastleMoves(this.pieceBitboards, occupancy, this.castlingRights, us, moves);
+        }
+    }
+
+    public void generateLegalMoves(final MoveList moves) {
+        final int start = moves.size();
+        generateMoves(moves);
+        new LegalMoveFilter(this.pieceBitboards, getAllOccupancy(), this.nextMoveMaker).filter(moves, start);
+    }
+
+    public boolean isSquareAttacked(final int squareCoordinate, final Color byColor) {
+        return BoardUtils.isSquareAttacked(this.pieceBitboards, getAllOccupancy(), squareCoordinate, byColor);
+    }
+
+    public boolean isKingAttacked(final Color kingColor) {
+        final long king = getPieceBitboard(Piece.PieceType.KING, kingColor);
+        return king != 0L && isSquareAttacked(Long.numberOfTrailingZeros(king), kingColor.opposite());
+    }
+
+    public boolean isInCheck() {
+        return isKingAttacked(this.nextMoveMaker);
+    }
+
+    private void generatePawnMoves(final MoveList moves, final Color us, final long enemy, final long occupancy) {
+        final int forwardOffset = us.getDirection() * NO_OF_SQUARES_PER_ROW;
+        long pawns = getPieceBitboard(Piece.PieceType.PAWN, us);
+        while(pawns != 0L) {
+            final int from = Long.numberOfTrailingZeros(pawns);
+            final int pushDestination = from + forwardOffset;
+            if(isValidCoordinate(pushDestination) && (occupancy & squareBit(pushDestination)) == 0L) {
+                addPawnMove(moves, us, from, pushDestination, false);
+                final int jumpDestination = pushDestination + forwardOffset;
+                if((this.unmovedPieces & squareBit(from)) != 0L && isOnPawnStartingRow(from, us) &&
+                        (occupancy & squareBit(jumpDestination)) == 0L) {
+                    moves.add(MoveUtils.encode(from, jumpDestination, MoveUtils.PAWN_JUMP, false));
+                }
+            }
+            final long attacks = PAWN_ATTACKS[us.ordinal()][from];
+            long captures = attacks & enemy;
+            while(captures != 0L) {
+                addPawnMove(moves, us, from, Long.numberOfTrailingZeros(captures), true);
+                captures &= captures - 1;
+            }
+            if(this.enPassantSquare != NO_SQUARE && (attacks & squareBit(this.enPassantSquare)) != 0L) {
+                moves.add(MoveUtils.encode(from, this.enPassantSquare, MoveUtils.EN_PASSANT, true));
+            }
+            pawns &= pawns - 1;
+        }
+    }
+
+    private static void addPawnMove(final MoveList moves, final Color us, final int from, final int to,
+                                    final boolean isAttack) {
+        if(us.isPawnPromotionSquare(to)) {
+            moves.add(MoveUtils.encodePromotion(from, to, isAttack, Piece.PieceType.QUEEN));
+        } else {
+            moves.add(MoveUtils.encode(from, to, MoveUtils.PAWN_MOVE, isAttack));
+        }
+    }
+
+    private static boolean isOnPawnStartingRow(final int squareCoordinate, final Color color) {
+        return color.isWhite() ? SEVENTH_ROW[squareCoordinate] : SECOND_ROW[squareCoordinate];
+    }
+
+    private static void addMoves(final MoveList moves, final int from, final long targets, final long enemy) {
+        long remaining = targets;
+        while(remaining != 0L) {
+            final int to = Long.numberOfTrailingZeros(remaining);
+            moves.add(MoveUtils.encode(from, to, MoveUtils.NORMAL, (enemy & squareBit(to)) != 0L));
+            remaining &= remaining - 1;
+        }
+    }
+
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        Pawn enPassantPawn = null;
+        final int enPassantPawnPosition = this.enPassantSquare == NO_SQUARE ? NO_SQUARE :
+                this.enPassantSquare + this.nextMoveMaker.opposite().getDirection() * NO_OF_SQUARES_PER_ROW;
+        for(int i = 0; i < NO_OF_SQUARES; i++) {
+            if(this.squares[i] != EMPTY) {
+                final Piece piece = PieceUtils.getPiece(pieceTypeOf(this.squares[i]), i, pieceColorOf(this.squares[i]),
+                        (this.unmovedPieces & squareBit(i)) != 0L);
+                builder.setPiece(piece);
+                if(i == enPassantPawnPosition) {
+                    enPassantPawn = (Pawn) piece;
+                }
+            }
+        }
+        builder.setMoveMaker(this.nextMoveMaker);
+        builder.setEnPassantPawn(enPassantPawn);
+        return builder.build();
+    }
+
+    private void pushUndo(final long undo) {
+        if(this.undoCount == this.undoStack.length) {
+            this.undoStack = Arrays.copyOf(this.undoStack, this.undoStack.length * 2);
+            this.zobristKeyHistory = Arrays.copyOf(this.zobristKeyHistory, this.zobristKeyHistory.length * 2);
+        }
+        this.zobristKeyHistory[this.undoCount] = this.zobristKey;
+        this.undoStack[this.undoCount++] = undo;
+    }
+
+    private void putPiece(final int piece, final int squareCoordinate) {
+        final long squareBit = squareBit(squareCoordinate);
+        this.squares[squareCoordinate] = piece;
+        this.pieceBitboards[piece] |= squareBit;
+        this.occupancies[piece / NO_OF_PIECE_TYPES] |= squareBit;
+    }
+
+    private void removePiece(final int piece, final int squareCoordinate) {
+        final long squareBit = squareBit(squareCoordinate);
+        this.squares[squareCoordinate] = EMPTY;
+        this.pieceBitboards[piece] &= ~squareBit;
+        this.occupancies[piece / NO_OF_PIECE_TYPES] &= ~squareBit;
+    }
+
+    private long unmovedFlag(final int squareCoordinate) {
+        return (this.unmovedPieces >>> squareCoordinate) & 1L;
+    }
+
+    private static Piece.PieceType pieceTypeOf(final int piece) {
+        return PIECE_TYPES[piece % NO_OF_PIECE_TYPES];
+    }
+
+    private static Color pieceColorOf(final int piece) {
+        return piece < NO_OF_PIECE_TYPES ? Color.WHITE : Color.BLACK;
+    }
+}
@@ -1,13 +1,12 @@
 package com.chess.game.board;
 
+import com.chess.game.Color;
 import com.chess.game.piece.Piece;
-import com.google.common.collect.ImmutableMap;
+import com.chess.game.piece.PieceUtils;
 
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 
-import static com.chess.game.board.BoardUtils.NO_OF_SQUARES;
+import static com.chess.game.board.BoardUtils.*;
 
 public abstract class Square {
     protected final int squareCoordinate;
@@ -16,19 +15,44 @@ public abstract class Square {
         this.squareCoordinate = squareCoordinate;
     }
 
-    private static final Map<Integer, EmptySquare> EMPTY_SQUARES_CACHE = createAllPossibleEmptySquares();
+    private static final EmptySquare[] EMPTY_SQUARES_CACHE = createAllPossibleEmptySquares();
+    //pieces are canonical and know their square, so one occupied square per piece instance covers every board
+    private static final OccupiedSquare[] OCCUPIED_SQUARES_CACHE = createAllPossibleOccupiedSquares();
 
-    private static Map<Integer, EmptySquare> createAllPossibleEmptySquares() {
-        final Map<Integer, EmptySquare> emptySquareMap = new HashMap<>();
+    private static EmptySquare[] createAllPossibleEmptySquares() {
+        final EmptySquare[] emptySquares = new EmptySquare[NO_OF_SQUARES];
         for( int i=0; i<NO_OF_SQUARES; i++) {
-            emptySquareMap.put(i,new EmptySquare(i));
+            emptySquares[i] = new EmptySquare(i);
         }
+        return emptySquares;
+    }
 
-        return ImmutableMap.copyOf(emptySquareMap);
+    private static OccupiedSquare[] createAllPossibleOccupiedSquares() {
+        final OccupiedSquare[] occupiedSquares = new OccupiedSquare[NO_OF_PIECE_BITBOARDS * NO_OF_SQUARES * 2];
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            for(final Color pieceColor : Color.values()) {
+                for(int i = 0; i < NO_OF_SQUARES; i++) {
+                    for(final boolean isFirstMove : new boolean[] {false, true}) {
+                        final Piece piece = PieceUtils.getPiece(pieceType, i, pieceColor, isFirstMove);
+                        occupiedSquares[occupiedSquareIndex(piece)] = new OccupiedSquare(i, piece);
+                    }
+                }
+            }
+        }
+        return occupiedSquares;
+    }
+
+    private static int occupiedSquareIndex(final Piece piece) {
+        return (bitboardIndex(piece.getPieceType(), piece.getPieceColor()) * NO_OF_SQUARES + piece.getPiecePosition()) * 2 +
+                (piece.isFirstMove() ? 1 : 0);
     }
 
     public static Square createSquare(final int squareCoordinate, final Piece piece) {
-        return piece != null ? new OccupiedSquare(squareCoordinate,piece) : EMPTY_SQUARES_CACHE.get(squareCoordinate);
+        if(piece == null) {
+            return EMPTY_SQUARES_CACHE[squareCoordinate];
+        }
+        assert piece.getPiecePosition() == squareCoordinate : "Piece does not stand on square " + squareCoordinate;
+        return OCCUPIED_SQUARES_CACHE[occupiedSquareIndex(piece)];
     }
 
     public abstract boolean isSquareOccupied();
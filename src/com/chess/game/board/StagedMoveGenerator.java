@@ -0,0 +1,254 @@
+package com.chess.game.board;
+
+import com.chess.game.Color;
+import com.chess.game.piece.Piece;
+
+//hands out the legal moves of the side to move one stage at a time, a stage is only generated once the one before
+//it has run out, so a consumer that cuts off after the first few moves never pays for the quiet moves; a best move
+//known from an earlier search goes first, captures come most valuable victim first, and the ones that lose material
+//in the exchange wait until after the quiet moves
+public class StagedMoveGenerator {
+
+    private static final int[] NO_KILLER_MOVES = new int[0];
+
+    private final Board board;
+    private final Color color;
+    private final LegalMoveFilter filter;
+    private final MoveList moves;
+    private final int bestMove;
+    private final int[] killerMoves;
+    private Stage stage;
+    private int nextIndex;
+
+    public StagedMoveGenerator(final Board board) {
+        this(board, new MoveList(), MoveUtils.NULL_MOVE, NO_KILLER_MOVES);
+    }
+
+    //the buffer is cleared and reused for every stage; the best move and the killer moves are encoded moves that may
+    //come from other positions, they are only handed out when they are legal here
+    public StagedMoveGenerator(final Board board, final MoveList moves, final int bestMove, final int[] killerMoves) {
+        this.board = board;
+        this.color = board.getNextMoveMaker();
+        this.filter = board.getCurrentPlayer().getLegalMoveFilter();
+        this.moves = moves;
+        this.bestMove = bestMove;
+        this.killerMoves = killerMoves;
+        this.stage = Stage.BEST_MOVE;
+        this.nextIndex = 0;
+        this.moves.clear();
+        this.stage.generate(this);
+    }
+
+    public Stage getStage() {
+        return this.stage;
+    }
+
+    //the next legal move or MoveUtils.NULL_MOVE once every stage is done
+    public int next() {
+        while(true) {
+            while(this.nextIndex < this.moves.size()) {
+                final int move = this.moves.get(this.nextIndex++);
+                if((this.stage == Stage.BEST_MOVE || move != this.bestMove) && this.stage.isHandedOut(this, move)) {
+                    return move;
+                }
+            }
+            if(this.stage == Stage.DONE) {
+                return MoveUtils.NULL_MOVE;
+            }
+            this.stage = this.stage.nextStage();
+            this.nextIndex = 0;
+            this.moves.clear();
+            this.stage.generate(this);
+        }
+    }
+
+    private void generateBestMove() {
+        if(this.bestMove != MoveUtils.NULL_MOVE && isPseudoLegalMove(this.bestMove) &&
+                this.filter.isLegal(this.bestMove)) {
+            this.moves.add(this.bestMove);
+        }
+    }
+
+    private void generateCaptures() {
+        this.board.generateCaptures(this.color, this.moves);
+        this.filter.filter(this.moves, 0);
+        MoveOrdering.sortByMvvLva(this.board, this.moves, 0);
+    }
+
+    //the captures are generated once more instead of being kept aside, a consumer rarely gets this far
+    private void generateLosingCaptures() {
+        generateCaptures();
+        int losingCount = 0;
+        for(int i = 0; i < this.moves.size(); i++) {
+            final int move = this.moves.get(i);
+            if(isLosingCapture(move)) {
+                this.moves.set(losingCount++, move);
+            }
+        }
+        this.moves.truncate(losingCount);
+    }
+
+    //taking something at least as valuable as the capturing piece can only lose material to a recapture that promotes
+    private boolean isLosingCapture(final int move) {
+        final int destinationCoordinate = MoveUtils.getDestinationCoordinate(move);
+        final Piece capturingPiece = this.board.getPiece(MoveUtils.getCurrentCoordinate(move));
+        final Piece capturedPiece = this.board.getPiece(destinationCoordinate);
+        if(!MoveUtils.isPromotion(move) && capturedPiece != null &&
+                !this.color.opposite().isPawnPromotionSquare(destinationCoordinate) &&
+                capturedPiece.getPieceType().getPieceValue() >= capturingPiece.getPieceType().getPieceValue()) {
+            return false;
+        }
+        return this.board.calculateStaticExchange(move) < 0;
+    }
+
+    private void generateKillerMoves() {
+        for(int i = 0; i < this.killerMoves.length; i++) {
+            final int killerMove = this.killerMoves[i];
+            if(killerMove != MoveUtils.NULL_MOVE && !this.moves.contains(killerMove) &&
+                    !MoveUtils.isAttack(killerMove) && !MoveUtils.isPromotion(killerMove) &&
+                    isPseudoLegalMove(killerMove) && this.filter.isLegal(killerMove)) {
+                this.moves.add(killerMove);
+            }
+        }
+    }
+
+    private void generateQuietMoves() {
+        this.board.generateQuietMoves(this.color, this.moves);
+        this.board.generateCastleMoves(this.color, this.moves);
+        this.filter.filter(this.moves, 0);
+    }
+
+    //a move from another position only counts if the piece here generates the very same move
+    private boolean isPseudoLegalMove(final int move) {
+        final Piece piece = this.board.getPiece(MoveUtils.getCurrentCoordinate(move));
+        if(piece == null || piece.getPieceColor() != this.color) {
+            return false;
+        }
+        final int start = this.moves.size();
+        if(MoveUtils.isCastle(move)) {
+            this.board.generateCastleMoves(this.color, this.moves);
+        } else {
+            piece.legalMoves(this.board, BoardUtils.squareBit(MoveUtils.getDestinationCoordinate(move)), this.moves);
+        }
+        boolean isPseudoLegalMove = false;
+        for(int i = start; i < this.moves.size(); i++) {
+            isPseudoLegalMove |= this.moves.get(i) == move;
+        }
+        this.moves.truncate(start);
+        return isPseudoLegalMove;
+    }
+
+    private boolean isKillerMove(final int move) {
+        for(final int killerMove : this.killerMoves) {
+            if(killerMove == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public enum Stage {
+        BEST_MOVE {
+            @Override
+            void generate(final StagedMoveGenerator generator) {
+                generator.generateBestMove();
+            }
+
+            @Override
+            boolean isHandedOut(final StagedMoveGenerator generator, final int move) {
+                return true;
+            }
+
+            @Override
+            Stage nextStage() {
+                return CAPTURES;
+            }
+        },
+        CAPTURES {
+            @Override
+            void generate(final StagedMoveGenerator generator) {
+                generator.generateCaptures();
+            }
+
+            @Override
+            boolean isHandedOut(final StagedMoveGenerator generator, final int move) {
+                return !generator.isLosingCapture(move);
+            }
+
+            @Override
+            Stage nextStage() {
+                return KILLERS;
+            }
+        },
+        KILLERS {
+            @Override
+            void generate(final StagedMoveGenerator generator) {
+                generator.generateKillerMoves();
+            }
+
+            @Override
+            boolean isHandedOut(final StagedMoveGenerator generator, final int move) {
+                return true;
+            }
+
+            @Override
+            Stage nextStage() {
+                return QUIETS;
+            }
+        },
+        QUIETS {
+            @Override
+            void generate(final StagedMoveGenerator generator) {
+                generator.generateQuietMoves();
+            }
+
+            //killers that turned out to be legal were handed out before the quiet moves already
+            @Override
+            boolean isHandedOut(final StagedMoveGenerator generator, final int move) {
+                return !generator.isKillerMove(move);
+            }
+
+            @Override
+            Stage nextStage() {
+                return LOSING_CAPTURES;
+            }
+        },
+        LOSING_CAPTURES {
+            @Override
+            void generate(final StagedMoveGenerator generator) {
+                generator.generateLosingCaptures();
+            }
+
+            @Override
+            boolean isHandedOut(final StagedMoveGenerator generator, final int move) {
+                return true;
+            }
+
+            @Override
+            Stage nextStage() {
+                return DONE;
+            }
+        },
+        DONE {
+            @Override
+            void generate(final StagedMoveGenerator generator) {
+            }
+
+            @Override
+            boolean isHandedOut(final StagedMoveGenerator generator, final int move) {
+                return false;
+            }
+
+            @Override
+            Stage nextStage() {
+                return DONE;
+            }
+        };
+
+        abstract void generate(StagedMoveGenerator generator);
+
+        abstract boolean isHandedOut(StagedMoveGenerator generator, int move);
+
+        abstract Stage nextStage();
+    }
+}
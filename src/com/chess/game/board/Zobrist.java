@@ -0,0 +1,87 @@
+package com.chess.game.board;
+
+import com.chess.game.Color;
+import com.chess.game.piece.Piece;
+
+import java.util.Random;
+
+import static com.chess.game.board.BoardUtils.*;
+
+public class Zobrist {
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    private static final long[][] PIECE_KEYS = new long[NO_OF_PIECE_BITBOARDS][NO_OF_SQUARES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[NO_OF_SQUARES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for(final long[] pieceKeys : PIECE_KEYS) {
+            for(int i = 0; i < NO_OF_SQUARES; i++) {
+                pieceKeys[i] = random.nextLong();
+            }
+        }
+        //no castling rights hashes to zero so that a bare position only depends on its pieces
+        for(int i = 1; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for(int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Cannot instantiate Zobrist!");
+    }
+
+    public static long pieceKey(final int piece, final int squareCoordinate) {
+        return PIECE_KEYS[piece][squareCoordinate];
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return PIECE_KEYS[bitboardIndex(piece.getPieceType(), piece.getPieceColor())][piece.getPiecePosition()];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == NO_SQUARE ? 0L : EN_PASSANT_KEYS[enPassantSquare % NO_OF_SQUARES_PER_ROW];
+    }
+
+    public static long sideToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    public static long calculateKey(final Board board) {
+        long key = 0L;
+        for(int i = 0; i < NO_OF_SQUARES; i++) {
+            final Piece piece = board.getPiece(i);
+            if(piece != null) {
+                key ^= pieceKey(piece);
+            }
+        }
+        key ^= castlingKey(board.getCastlingRights());
+        key ^= enPassantKey(board.getEnPassantSquare());
+        if(board.getNextMoveMaker() == Color.BLACK) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key;
+    }
+
+    static long calculateMoveKey(final Board board, final Piece movedPiece, final Piece placedPiece,
+                                 final Piece capturedPiece, final int enPassantSquare) {
+        final int castlingRights = board.getCastlingRights();
+        long key = board.getZobristKey() ^ BLACK_TO_MOVE_KEY ^ pieceKey(movedPiece) ^ pieceKey(placedPiece);
+        if(capturedPiece != null) {
+            key ^= pieceKey(capturedPiece);
+        }
+        key ^= castlingKey(castlingRights) ^ castlingKey(castlingRights &
+                CASTLING_RIGHTS_MASKS[movedPiece.getPiecePosition()] & CASTLING_RIGHTS_MASKS[placedPiece.getPiecePosition()]);
+        key ^= enPassantKey(board.getEnPassantSquare()) ^ enPassantKey(enPassantSquare);
+        return key;
+    }
+}
@@ -4,101 +4,64 @@ import com.chess.game.Color;
 import com.chess.game.board.Board;
 import com.chess.game.board.BoardUtils;
 import com.chess.game.board.Move;
-import com.chess.game.board.Move.*;
-import com.google.common.collect.ImmutableList;
-
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Collection;
+import com.chess.game.board.MoveList;
+import com.chess.game.board.MoveUtils;
 
 public class Pawn extends Piece{
 
-    private final static int[] POSSIBLE_MOVES_OFFSET = {8, 16, 7, 9};
-
-    public Pawn(final int piecePosition, final Color pieceColor) {
-        super(PieceType.PAWN, piecePosition, pieceColor, true);
-    }
-    public Pawn(final int piecePosition, final Color pieceColor, final boolean isFirstMove) {
+    Pawn(final int piecePosition, final Color pieceColor, final boolean isFirstMove) {
         super(PieceType.PAWN, piecePosition, pieceColor, isFirstMove);
     }
 
     @Override
-    public Collection<Move> legalMoves(final Board board) {
-        List<Move> legalMoves = new ArrayList<>();
-        for(int currentOffset : POSSIBLE_MOVES_OFFSET) {
-            final int possibleDestinationOfPieceCoordinate = this.piecePosition + (this.pieceColor.getDirection() * currentOffset);
+    public void legalMoves(final Board board, final long destinations, final MoveList moves) {
+        final int forwardOffset = this.pieceColor.getDirection() * BoardUtils.NO_OF_SQUARES_PER_ROW;
+        final int possibleDestinationOfPieceCoordinate = this.piecePosition + forwardOffset;
 
-            if(!BoardUtils.isValidCoordinate(possibleDestinationOfPieceCoordinate)) {
-                continue;
+        if(BoardUtils.isValidCoordinate(possibleDestinationOfPieceCoordinate) &&
+                board.getPiece(possibleDestinationOfPieceCoordinate) == null) {
+            if((destinations & BoardUtils.squareBit(possibleDestinationOfPieceCoordinate)) != 0L) {
+                addPawnMove(moves, possibleDestinationOfPieceCoordinate, false);
             }
-
-            if(currentOffset == 8 && !board.getSquare(possibleDestinationOfPieceCoordinate).isSquareOccupied()) {
-                if(this.pieceColor.isPawnPromotionSquare(possibleDestinationOfPieceCoordinate)) {
-                    legalMoves.add(new PawnPromotion(new PawnBasicMove(board, this, possibleDestinationOfPieceCoordinate)));
-                } else {
-                    legalMoves.add(new PawnBasicMove(board, this, possibleDestinationOfPieceCoordinate));
-                }
-            } else if (currentOffset == 16 && this.isFirstMove() &&
-                    ((BoardUtils.SECOND_ROW[this.piecePosition] && this.pieceColor.isBlack()) ||
-                    (BoardUtils.SEVENTH_ROW[this.piecePosition] && this.pieceColor.isWhite()))){
-                final int behindDestinationOfPiece = this.piecePosition + (this.pieceColor.getDirection() * 8);
-                if(!board.getSquare(behindDestinationOfPiece).isSquareOccupied() &&
-                !board.getSquare(possibleDestinationOfPieceCoordinate).isSquareOccupied()) {
-                    legalMoves.add(new PawnJumpMove(board, this, possibleDestinationOfPieceCoordinate));
-                }
-            } else if(currentOffset == 7 && !(BoardUtils.EIGHT_COLUMN[this.piecePosition] && (this.pieceColor.isWhite()) ||
-                    (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceColor.isBlack()))) {
-                if(board.getSquare(possibleDestinationOfPieceCoordinate).isSquareOccupied()) {
-                    final Piece attackedPiece = board.getSquare(possibleDestinationOfPieceCoordinate).getPiece();
-                    if(attackedPiece.getPieceColor() != this.pieceColor) {
-                        if(this.pieceColor.isPawnPromotionSquare(possibleDestinationOfPieceCoordinate)) {
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this,
-                                    possibleDestinationOfPieceCoordinate, attackedPiece)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this,
-                                    possibleDestinationOfPieceCoordinate, attackedPiece));
-                        }
-                    }
-                } else if(board.getEnPassantPawn() != null) {
-                    if(board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.pieceColor.getOppositeDirection()))) {
-                        final Piece attackedPiece = board.getEnPassantPawn();
-                        if(this.pieceColor != attackedPiece.getPieceColor()) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this,
-                                    possibleDestinationOfPieceCoordinate,attackedPiece));
-                        }
-                    }
-                }
-            } else if(currentOffset == 9 && !(BoardUtils.EIGHT_COLUMN[this.piecePosition] && (this.pieceColor.isBlack()) ||
-                    (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceColor.isWhite()))) {
-                if(board.getSquare(possibleDestinationOfPieceCoordinate).isSquareOccupied()) {
-                    final Piece attackedPiece = board.getSquare(possibleDestinationOfPieceCoordinate).getPiece();
-                    if(attackedPiece.getPieceColor() != this.pieceColor) {
-                        if(this.pieceColor.isPawnPromotionSquare(possibleDestinationOfPieceCoordinate)) {
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this,
-                                    possibleDestinationOfPieceCoordinate, attackedPiece)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this,
-                                    possibleDestinationOfPieceCoordinate, attackedPiece));
-                        }
-                    }
-                } else if(board.getEnPassantPawn() != null) {
-                    if(board.getEnPassantPawn().getPiecePosition() == (this.piecePosition - (this.pieceColor.getOppositeDirection()))) {
-                        final Piece attackedPiece = board.getEnPassantPawn();
-                        if(this.pieceColor != attackedPiece.getPieceColor()) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this,
-                                    possibleDestinationOfPieceCoordinate,attackedPiece));
-                        }
-                    }
-                }
+            final int jumpDestinationOfPieceCoordinate = possibleDestinationOfPieceCoordinate + forwardOffset;
+            if(this.isFirstMove() && isOnStartingRow() && board.getPiece(jumpDestinationOfPieceCoordinate) == null &&
+                    (destinations & BoardUtils.squareBit(jumpDestinationOfPieceCoordinate)) != 0L) {
+                moves.add(MoveUtils.encode(this.piecePosition, jumpDestinationOfPieceCoordinate, MoveUtils.PAWN_JUMP,
+                        false));
             }
         }
-        return ImmutableList.copyOf(legalMoves);
+
+        final long attacks = BoardUtils.PAWN_ATTACKS[this.pieceColor.ordinal()][this.piecePosition];
+        long captures = attacks & board.getOccupancy(this.pieceColor.opposite()) & destinations;
+        while(captures != 0L) {
+            addPawnMove(moves, Long.numberOfTrailingZeros(captures), true);
+            captures &= captures - 1;
+        }
+
+        final int enPassantSquare = board.getEnPassantSquare();
+        if(enPassantSquare != BoardUtils.NO_SQUARE &&
+                (attacks & destinations & BoardUtils.squareBit(enPassantSquare)) != 0L &&
+                board.getEnPassantPawn().getPieceColor() != this.pieceColor) {
+            moves.add(MoveUtils.encode(this.piecePosition, enPassantSquare, MoveUtils.EN_PASSANT, true));
+        }
+    }
+
+    private void addPawnMove(final MoveList moves, final int destinationCoordinate, final boolean isAttack) {
+        if(this.pieceColor.isPawnPromotionSquare(destinationCoordinate)) {
+            moves.add(MoveUtils.encodePromotion(this.piecePosition, destinationCoordinate, isAttack, PieceType.QUEEN));
+        } else {
+            moves.add(MoveUtils.encode(this.piecePosition, destinationCoordinate, MoveUtils.PAWN_MOVE, isAttack));
+        }
+    }
+
+    private boolean isOnStartingRow() {
+        return (BoardUtils.SECOND_ROW[this.piecePosition] && this.pieceColor.isBlack()) ||
+                (BoardUtils.SEVENTH_ROW[this.piecePosition] && this.pieceColor.isWhite());
     }
 
     @Override
     public Pawn movePiece(final Move move) {
-        return new Pawn(move.getDestinationCoordinate(),move.getPieceToBeMoved().getPieceColor(), false);
+        return (Pawn) PieceUtils.getPiece(PieceType.PAWN, move.getDestinationCoordinate(), this.pieceColor, false);
     }
 
     public String toString(){
@@ -2,49 +2,30 @@ package com.chess.game.piece;
 
 import com.chess.game.Color;
 import com.chess.game.board.Board;
+import com.chess.game.board.BoardUtils;
 import com.chess.game.board.Move;
+import com.chess.game.board.MoveList;
+import com.chess.game.board.MoveUtils;
 
 import java.util.Collection;
 
 public abstract class  Piece {
 
+    //a queen in the middle of an otherwise empty board
+    private static final int MAX_LEGAL_MOVES = 27;
+
     protected final PieceType pieceType;
     protected final int piecePosition;
     protected final Color pieceColor;
     protected final boolean isFirstMove;
-    private final int cachedHashCode;
 
-    public Piece(final PieceType pieceType, final int piecePosition, final Color pieceColor, final boolean isFirstMove) {
+    //there is exactly one instance per type, color, square and first move flag (see PieceUtils.getPiece),
+    //so the identity based equals and hashCode of Object are the value semantics
+    Piece(final PieceType pieceType, final int piecePosition, final Color pieceColor, final boolean isFirstMove) {
         this.pieceType = pieceType;
         this.piecePosition = piecePosition;
         this.pieceColor = pieceColor;
         this.isFirstMove = isFirstMove;
-        this.cachedHashCode = computeHashCode();
-    }
-
-    private int computeHashCode() {
-        int result = pieceType.hashCode();
-        result = 31 * result + pieceColor.hashCode();
-        result = 31 * result + piecePosition;
-        result = 31 * result + (isFirstMove ? 1 : 0);
-        return result;
-    }
-    @Override
-    public boolean equals(final Object other) {
-        if(this == other){
-            return true;
-        }
-        if(!(other instanceof Piece)) {
-            return false;
-        }
-        final Piece otherPiece = (Piece) other;
-        return piecePosition == otherPiece.getPiecePosition() && pieceType == otherPiece.getPieceType()
-                && pieceColor == otherPiece.getPieceColor() && isFirstMove == otherPiece.isFirstMove();
-    }
-
-    @Override
-    public int hashCode() {
-        return this.cachedHashCode;
     }
 
     public PieceType getPieceType() {
@@ -54,7 +35,19 @@ public abstract class  Piece {
     public boolean isFirstMove() {
         return this.isFirstMove;
     }
-    public abstract Collection<Move> legalMoves(final Board board);
+    public Collection<Move> legalMoves(final Board board) {
+        final MoveList moves = new MoveList(MAX_LEGAL_MOVES);
+        legalMoves(board, moves);
+        return MoveUtils.toMoves(board, moves);
+    }
+
+    //appends the encoded moves to a buffer the caller keeps reusing, so nothing is allocated per call
+    public void legalMoves(final Board board, final MoveList moves) {
+        legalMoves(board, BoardUtils.ALL_SQUARES, moves);
+    }
+
+    //only the moves that end on one of the destinations, which is how the board splits captures from quiet moves
+    public abstract void legalMoves(final Board board, final long destinations, final MoveList moves);
 
     public Color getPieceColor() {
         return pieceColor;
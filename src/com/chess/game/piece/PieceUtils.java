@@ -3,46 +3,70 @@ package com.chess.game.piece;
 import com.chess.game.Color;
 import com.chess.game.board.Board;
 import com.chess.game.board.BoardUtils;
-import com.chess.game.board.Move;
-import com.chess.game.board.Square;
+import com.chess.game.board.MoveList;
+import com.chess.game.board.MoveUtils;
 
 public class PieceUtils {
+    //every piece that can exist, indexed by type, color, square and first move flag
+    private static final Piece[] PIECES = initPieces();
+
     private PieceUtils(){
         throw new RuntimeException("Cannot instantiate Piece Utils!");
     }
 
-    public static Move calculateLegalMoveForSlipperyPieces(final Board board, final int possibleDestinationOfPieceCoordinate,
-                                                           final Piece pieceToBeMoved, final Color pieceColor) {
-        if(BoardUtils.isValidCoordinate(possibleDestinationOfPieceCoordinate)) {
-            final Square possibleDestinationSquare = board.getSquare(possibleDestinationOfPieceCoordinate);
-            if(!possibleDestinationSquare.isSquareOccupied()) {
-               return new Move.BasicMove(board, pieceToBeMoved, possibleDestinationOfPieceCoordinate);
-            } else {
-                final Piece pieceAtDestination = possibleDestinationSquare.getPiece();
-                final Color pieceAtDestinationColor = pieceAtDestination.getPieceColor();
-                if(pieceColor != pieceAtDestinationColor) {
-                    return new Move.AttackMove(board, pieceToBeMoved, possibleDestinationOfPieceCoordinate,
-                            pieceAtDestination);
-                } else {
-                    return null;
+    public static Piece getPiece(final Piece.PieceType pieceType, final int piecePosition, final Color pieceColor,
+                                 final boolean isFirstMove) {
+        return PIECES[pieceIndex(pieceType, piecePosition, pieceColor, isFirstMove)];
+    }
+
+    private static int pieceIndex(final Piece.PieceType pieceType, final int piecePosition, final Color pieceColor,
+                                  final boolean isFirstMove) {
+        return (BoardUtils.bitboardIndex(pieceType, pieceColor) * BoardUtils.NO_OF_SQUARES + piecePosition) * 2 +
+                (isFirstMove ? 1 : 0);
+    }
+
+    private static Piece[] initPieces() {
+        final Piece[] pieces = new Piece[BoardUtils.NO_OF_PIECE_BITBOARDS * BoardUtils.NO_OF_SQUARES * 2];
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            for(final Color pieceColor : Color.values()) {
+                for(int i = 0; i < BoardUtils.NO_OF_SQUARES; i++) {
+                    pieces[pieceIndex(pieceType, i, pieceColor, false)] = createPiece(pieceType, i, pieceColor, false);
+                    pieces[pieceIndex(pieceType, i, pieceColor, true)] = createPiece(pieceType, i, pieceColor, true);
                 }
             }
         }
-        return null;
+        return pieces;
     }
-    public static Move calculateLegalMoveForNonSlipperyPieces(final Board board, final int possibleDestinationOfPieceCoordinate,
-                                                           final Piece pieceToBeMoved, final Color pieceColor) {
-        final Square possibleDestinationSquare = board.getSquare(possibleDestinationOfPieceCoordinate);
-        if(!possibleDestinationSquare.isSquareOccupied()) {
-            return new Move.BasicMove(board, pieceToBeMoved, possibleDestinationOfPieceCoordinate);
-        } else {
-            final Piece pieceAtDestination = possibleDestinationSquare.getPiece();
-            final Color pieceAtDestinationColor = pieceAtDestination.getPieceColor();
-            if(pieceColor != pieceAtDestinationColor) {
-                return new Move.AttackMove(board, pieceToBeMoved, possibleDestinationOfPieceCoordinate,
-                        pieceAtDestination);
-            }
+
+    private static Piece createPiece(final Piece.PieceType pieceType, final int piecePosition, final Color pieceColor,
+                                     final boolean isFirstMove) {
+        switch (pieceType) {
+            case ROOK:
+                return new Rook(piecePosition, pieceColor, isFirstMove);
+            case KNIGHT:
+                return new Knight(piecePosition, pieceColor, isFirstMove);
+            case BISHOP:
+                return new Bishop(piecePosition, pieceColor, isFirstMove);
+            case QUEEN:
+                return new Queen(piecePosition, pieceColor, isFirstMove);
+            case KING:
+                return new King(piecePosition, pieceColor, isFirstMove);
+            case PAWN:
+                return new Pawn(piecePosition, pieceColor, isFirstMove);
+            default:
+                throw new RuntimeException("Unknown piece type " + pieceType);
+        }
+    }
+
+    public static void calculateLegalMovesFromAttacks(final Board board, final long attacks, final Piece pieceToBeMoved,
+                                                      final MoveList moves) {
+        final long enemyPieces = board.getOccupancy(pieceToBeMoved.getPieceColor().opposite());
+        long remaining = attacks & ~board.getOccupancy(pieceToBeMoved.getPieceColor());
+        while(remaining != 0L) {
+            final int possibleDestinationOfPieceCoordinate = Long.numberOfTrailingZeros(remaining);
+            moves.add(MoveUtils.encode(pieceToBeMoved.getPiecePosition(), possibleDestinationOfPieceCoordinate,
+                    MoveUtils.NORMAL, (enemyPieces & BoardUtils.squareBit(possibleDestinationOfPieceCoordinate)) != 0L));
+            remaining &= remaining - 1;
         }
-        return null;
     }
 }
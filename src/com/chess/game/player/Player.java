@@ -2,97 +2,125 @@ package com.chess.game.player;
 
 import com.chess.game.Color;
 import com.chess.game.board.Board;
+import com.chess.game.board.LegalMoveFilter;
 import com.chess.game.board.Move;
+import com.chess.game.board.MoveIndex;
+import com.chess.game.board.MoveList;
+import com.chess.game.board.MoveUtils;
 import com.chess.game.piece.King;
 import com.chess.game.piece.Piece;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public abstract class Player {
+
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
+    private final Supplier<Collection<Move>> pseudoLegalMoves;
+    private final Supplier<Collection<Move>> legalMoves;
+    private final Supplier<MoveIndex> legalMoveIndex;
+    private final Supplier<MoveIndex> pseudoLegalMoveIndex;
+    private final Supplier<LegalMoveFilter> legalMoveFilter;
+    private final Supplier<Boolean> isInCheck;
 
-    Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+    Player(final Board board, final Supplier<Collection<Move>> pseudoLegalMoves) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateCastleMove(legalMoves, opponentMoves)));
-        this.isInCheck = !Player.calculateAttacksOnSquare(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
+        this.isInCheck = Suppliers.memoize(() ->
+                board.isSquareAttacked(this.playerKing.getPiecePosition(), getColor().opposite()));
+        this.pseudoLegalMoves = Suppliers.memoize(() -> ImmutableList.copyOf(Iterables.concat(pseudoLegalMoves.get(),
+                calculateCastleMove())));
+        this.legalMoveFilter = Suppliers.memoize(() -> board.calculateLegalMoveFilter(getColor()));
+        this.legalMoves = Suppliers.memoize(this::calculateLegalMoves);
+        this.legalMoveIndex = Suppliers.memoize(() -> new MoveIndex(this.legalMoves.get()));
+        this.pseudoLegalMoveIndex = Suppliers.memoize(() -> new MoveIndex(this.pseudoLegalMoves.get()));
     }
 
     public King getPlayerKing() {
         return playerKing;
     }
     public Collection<Move> getLegalMoves() {
-        return legalMoves;
+        return this.legalMoves.get();
+    }
+    public LegalMoveFilter getLegalMoveFilter() {
+        return this.legalMoveFilter.get();
     }
     public abstract Collection<Piece> getActivePieces();
     public abstract Color getColor();
     public abstract Player getOpponent();
-    public abstract Collection<Move> calculateCastleMove(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
-
-    protected static Collection<Move> calculateAttacksOnSquare(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for(final Move move : moves) {
-            if(piecePosition == move.getDestinationCoordinate()){
-                attackMoves.add(move);
-            }
-        }
-        return ImmutableList.copyOf(attackMoves);
+
+    public Collection<Move> calculateCastleMove() {
+        final MoveList castleMoves = new MoveList(2);
+        this.board.generateCastleMoves(getColor(), castleMoves);
+        return MoveUtils.toMoves(this.board, castleMoves);
+    }
+
+    //checks and pins are worked out once for the position instead of executing every move to see if it exposes the king,
+    //and the filter is kept so that generating into the same buffer again does not allocate
+    public void generateLegalMoves(final MoveList moves) {
+        final int start = moves.size();
+        this.board.generateMoves(getColor(), moves);
+        this.board.generateCastleMoves(getColor(), moves);
+        getLegalMoveFilter().filter(moves, start);
+    }
+
+    private Collection<Move> calculateLegalMoves() {
+        final MoveList legalMoves = new MoveList();
+        generateLegalMoves(legalMoves);
+        return MoveUtils.toMoves(this.board, legalMoves);
     }
 
     private King establishKing() {
-        for(final Piece piece : getActivePieces()) {
-            if(piece.getPieceType().isKing()) {
-                return (King)piece;
-            }
+        final long kingBitboard = this.board.getPieceBitboard(Piece.PieceType.KING, getColor());
+        if(kingBitboard == 0L) {
+            throw new RuntimeException("Not a valid board");
         }
-        throw new RuntimeException("Not a valid board");
+        return (King) this.board.getPiece(Long.numberOfTrailingZeros(kingBitboard));
     }
 
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        return this.legalMoveIndex.get().contains(move);
+    }
+
+    public Move findLegalMove(final int currentCoordinate, final int destinationCoordinate,
+                              final Piece.PieceType promotionPieceType) {
+        final Move move = this.legalMoveIndex.get().get(currentCoordinate, destinationCoordinate, promotionPieceType);
+        return move != null ? move : Move.MoveFactory.getNullMove();
     }
 
     public boolean isInCheck() {
-        return this.isInCheck;
+        return this.isInCheck.get();
     }
 
     public boolean isInCheckMate() {
-        return this.isInCheck && hasNotEscapeMoves();
+        return isInCheck() && hasNotEscapeMoves();
     }
 
     public boolean isInStaleMate() {
-        return !this.isInCheck && hasNotEscapeMoves();
+        return !isInCheck() && hasNotEscapeMoves();
     }
 
     protected boolean hasNotEscapeMoves() {
-        for(final Move move: this.legalMoves){
-            final MoveTransition transition = makeMove(move);
-            if(transition.getMoveStatus().isDone()) {
-                return false;
-            }
-        }
-        return true;
+        return getLegalMoves().isEmpty();
     }
 
     public MoveTransition makeMove(final Move move) {
         if(!isMoveLegal(move)) {
-            return new MoveTransition(this.board, MoveStatus.ILLEGAL_MOVE);
+            return new MoveTransition(this.board, this.pseudoLegalMoveIndex.get().contains(move) ?
+                    MoveStatus.LEAVES_PLAYER_IN_CHECK : MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionBoard = move.execute();
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnSquare
-                (transitionBoard.getCurrentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                        transitionBoard.getCurrentPlayer().getLegalMoves());
-        if(!kingAttacks.isEmpty()) {
-            return new MoveTransition(this.board, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-        return new MoveTransition(transitionBoard, MoveStatus.DONE);
+        return new MoveTransition(move.execute(), MoveStatus.DONE);
+    }
+
+    //for a search that takes its moves from generateLegalMoves or a StagedMoveGenerator of this board, which the
+    //legal move filter has accepted already; the move is decoded once and executed without being looked up again,
+    //anything else has to go through makeMove(Move)
+    public MoveTransition makeFilteredMove(final int move) {
+        return new MoveTransition(MoveUtils.toMove(this.board, move).execute(), MoveStatus.DONE);
     }
 
     public MoveTransition unmakeMove (final Move move) {
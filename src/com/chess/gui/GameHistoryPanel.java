@@ -1,6 +1,7 @@
 package com.chess.gui;
 
 import com.chess.game.board.Board;
+import com.chess.game.board.GameStatus;
 import com.chess.game.board.Move;
 import com.chess.gui.Table.MoveLog;
 
@@ -57,7 +58,8 @@ public class GameHistoryPanel extends JPanel {
     }
 
     private String calculateCheckAndCheckMateHash(final Board board) {
-        if(board.getCurrentPlayer().isInCheckMate()) {
+        final GameStatus gameStatus = board.getGameStatus();
+        if(gameStatus == GameStatus.CHECKMATE) {
             return "#";
         } else if(board.getCurrentPlayer().isInCheck()) {
             return "+";
@@ -2,12 +2,12 @@ package com.chess.gui;
 
 import com.chess.game.board.Board;
 import com.chess.game.board.BoardUtils;
+import com.chess.game.board.GameStatus;
 import com.chess.game.board.Move;
 import com.chess.game.board.Square;
 import com.chess.game.piece.Piece;
 import com.chess.game.player.MoveTransition;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
 import javax.imageio.ImageIO;
@@ -236,7 +236,8 @@ public class Table {
                         gameHistoryPanel.redo(chessBoard, moveLog);
                         takenPiecesPanel.redo(moveLog);
                         boardPanel.drawBoard(chessBoard);
-                        if(chessBoard.getCurrentPlayer().isInCheckMate()) {
+                        final GameStatus gameStatus = chessBoard.getGameStatus();
+                        if(gameStatus == GameStatus.CHECKMATE) {
                             if(chessBoard.getCurrentPlayer().getColor().isWhite()) {
                                 JOptionPane.showMessageDialog(gameFrame,
                                         "Black wins!");
@@ -245,7 +246,7 @@ public class Table {
                                         "White wins!");
                             }
                         }
-                        if(chessBoard.getCurrentPlayer().isInStaleMate()) {
+                        if(gameStatus.isDraw()) {
                             JOptionPane.showMessageDialog(gameFrame,
                                     "Draw!");
                         }
@@ -325,23 +326,17 @@ public class Table {
 
         private Collection<Move> pieceLegalMoves(final Board board) {
             if(humanMovedPiece != null && humanMovedPiece.getPieceColor() == board.getCurrentPlayer().getColor()) {
-                return calculateLegalMovesThatCanBeDone(humanMovedPiece.legalMoves(board));
+                return calculateLegalMovesThatCanBeDone(board, humanMovedPiece);
             }
             return Collections.emptyList();
         }
-        private Collection<Move> calculateLegalMovesThatCanBeDone(Collection<Move> legalMoves) {
-            List<Move> legalMovesThatCanBeDone = new ArrayList<>();
-            for(final Move move : legalMoves) {
-                final MoveTransition transition = chessBoard.getCurrentPlayer().makeMove(move);
-                if(transition.getMoveStatus().isDone()) {
-                    if (transition.getMoveStatus().isDone()) {
-                        legalMovesThatCanBeDone.add(move);
-                    }
+        private Collection<Move> calculateLegalMovesThatCanBeDone(final Board board, final Piece piece) {
+            final List<Move> legalMovesThatCanBeDone = new ArrayList<>();
+            for(final Move move : board.getCurrentPlayer().getLegalMoves()) {
+                if(move.getPieceToBeMoved().equals(piece)) {
+                    legalMovesThatCanBeDone.add(move);
                 }
             }
-            legalMovesThatCanBeDone = ImmutableList.copyOf(Iterables.concat(legalMovesThatCanBeDone,
-                    chessBoard.getCurrentPlayer().calculateCastleMove(legalMoves,
-                            chessBoard.getCurrentPlayer().getOpponent().getLegalMoves())));
             return ImmutableList.copyOf(legalMovesThatCanBeDone);
         }
 
@@ -0,0 +1,239 @@
+package com.chess.perft;
+
+import com.chess.game.Color;
+import com.chess.game.board.Board;
+import com.chess.game.board.FenUtils;
+import com.chess.game.board.Move;
+import com.chess.game.board.MoveList;
+import com.chess.game.board.MoveUtils;
+import com.chess.game.board.SearchBoard;
+import com.chess.game.piece.Piece;
+import com.chess.game.player.MoveTransition;
+import com.chess.game.player.Player;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class Perft {
+
+    private static final String USAGE =
+            "usage: Perft [--board] <depth> [fen]   node count and divide for the position (standard board without a fen)\n" +
+            "       Perft [--board] --suite [depth]  reference positions, optionally capped at the given depth\n" +
+            "       --board walks the immutable Board through Player.makeMove instead of SearchBoard\n" +
+            "       Perft --check-allocation  fails unless generating into reused move lists allocates nothing";
+    private static final int CALLS_PER_ALLOCATION_ROUND = 100_000;
+    private static final int MAX_ALLOCATION_ROUNDS = 20;
+
+    private Perft() {
+        throw new RuntimeException("Cannot instantiate Perft!");
+    }
+
+    public static long perft(final SearchBoard board, final int depth) {
+        final MoveList[] moveLists = createMoveLists(depth);
+        return perft(board, depth, moveLists);
+    }
+
+    public static long perft(final Board board, final int depth) {
+        if(depth == 0) {
+            return 1L;
+        }
+        long nodes = 0L;
+        for(final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if(transition.getMoveStatus().isDone()) {
+                nodes += perft(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    public static Map<String, Long> divide(final SearchBoard board, final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        final MoveList[] moveLists = createMoveLists(depth);
+        final MoveList rootMoves = new MoveList();
+        board.generateLegalMoves(rootMoves);
+        for(int i = 0; i < rootMoves.size(); i++) {
+            final int move = rootMoves.get(i);
+            board.makeMove(move);
+            divide.put(MoveUtils.toAlgebraic(move), perft(board, depth - 1, moveLists));
+            board.unmakeMove();
+        }
+        return divide;
+    }
+
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        for(final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if(transition.getMoveStatus().isDone()) {
+                divide.put(MoveUtils.toAlgebraic(MoveUtils.encode(move)),
+                        perft(transition.getTransitionBoard(), depth - 1));
+            }
+        }
+        return divide;
+    }
+
+    private static long perft(final SearchBoard board, final int depth, final MoveList[] moveLists) {
+        if(depth == 0) {
+            return 1L;
+        }
+        final MoveList moves = moveLists[depth];
+        moves.clear();
+        board.generateMoves(moves);
+        long nodes = 0L;
+        for(int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            if(!board.isKingAttacked(board.getNextMoveMaker().opposite())) {
+                nodes += depth == 1 ? 1L : perft(board, depth - 1, moveLists);
+            }
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static MoveList[] createMoveLists(final int depth) {
+        final MoveList[] moveLists = new MoveList[depth + 1];
+        for(int i = 0; i <= depth; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return moveLists;
+    }
+
+    public static void main(final String[] args) {
+        final List<String> arguments = new ArrayList<>(List.of(args));
+        final boolean useBoard = arguments.remove("--board");
+        final boolean runSuite = arguments.remove("--suite");
+        final boolean checkAllocation = arguments.remove("--check-allocation");
+        try {
+            if(checkAllocation) {
+                System.exit(runAllocationCheck() ? 0 : 1);
+            } else if(runSuite) {
+                final int maxDepth = arguments.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(arguments.get(0));
+                final boolean passed = runSuite(maxDepth, useBoard);
+                System.exit(passed ? 0 : 1);
+            } else if(!arguments.isEmpty()) {
+                final int depth = Integer.parseInt(arguments.get(0));
+                final String fen = arguments.size() > 1 ? String.join(" ", arguments.subList(1, arguments.size())) :
+                        FenUtils.STANDARD_BOARD_FEN;
+                runDivide(fen, depth, useBoard);
+            } else {
+                System.out.println(USAGE);
+            }
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.out.println(USAGE);
+            System.exit(2);
+        }
+    }
+
+    private static void runDivide(final String fen, final int depth, final boolean useBoard) {
+        if(depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1");
+        }
+        final Board board = FenUtils.createGameFromFEN(fen);
+        final long start = System.nanoTime();
+        final Map<String, Long> divide = useBoard ? divide(board, depth) : divide(new SearchBoard(board), depth);
+        final long elapsed = System.nanoTime() - start;
+        long nodes = 0L;
+        for(final Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        System.out.println();
+        System.out.println("Moves: " + divide.size());
+        System.out.println("Nodes: " + nodes);
+        printThroughput(nodes, elapsed);
+    }
+
+    private static boolean runSuite(final int maxDepth, final boolean useBoard) {
+        boolean passed = true;
+        long totalNodes = 0L;
+        long totalElapsed = 0L;
+        for(final PerftPosition position : PerftPosition.values()) {
+            final Board board = FenUtils.createGameFromFEN(position.getFen());
+            for(int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                final long start = System.nanoTime();
+                final long nodes = useBoard ? perft(board, depth) : perft(new SearchBoard(board), depth);
+                final long elapsed = System.nanoTime() - start;
+                final long expected = position.getExpectedNodes(depth);
+                passed &= nodes == expected;
+                totalNodes += nodes;
+                totalElapsed += elapsed;
+                System.out.printf(Locale.ROOT, "%-14s depth %d  %12d  %s  %8d ms%n", position, depth, nodes,
+                        nodes == expected ? "ok      " : "expected " + expected,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+        System.out.println();
+        System.out.println(passed ? "All positions passed" : "Some positions FAILED");
+        System.out.println("Nodes: " + totalNodes);
+        printThroughput(totalNodes, totalElapsed);
+        return passed;
+    }
+
+    //the players keep their legal move filters, so generating into the same list again must not allocate anything;
+    //the first rounds warm up the filters and the compiler, the check passes once a whole round allocates nothing
+    private static boolean runAllocationCheck() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if(!(threadBean instanceof com.sun.management.ThreadMXBean) ||
+                !((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            System.out.println("This JVM cannot measure the memory a thread allocates");
+            return false;
+        }
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        final List<Board> boards = new ArrayList<>();
+        final List<Board> pieceBoards = new ArrayList<>();
+        final List<Piece> pieces = new ArrayList<>();
+        for(final PerftPosition position : PerftPosition.values()) {
+            final Board board = FenUtils.createGameFromFEN(position.getFen());
+            boards.add(board);
+            for(final Piece piece : board.getAllPieces()) {
+                pieceBoards.add(board);
+                pieces.add(piece);
+            }
+        }
+        final MoveList moves = new MoveList();
+        long generatedMoves = 0L;
+        for(int round = 1; round <= MAX_ALLOCATION_ROUNDS; round++) {
+            final long before = allocationBean.getCurrentThreadAllocatedBytes();
+            for(int call = 0; call < CALLS_PER_ALLOCATION_ROUND; call++) {
+                final Board board = boards.get(call % boards.size());
+                final Player player = call % 2 == 0 ? board.getWhitePlayer() : board.getBlackPlayer();
+                moves.clear();
+                player.generateLegalMoves(moves);
+                generatedMoves += moves.size();
+                moves.clear();
+                board.generateMoves(call % 2 == 0 ? Color.WHITE : Color.BLACK, moves);
+                generatedMoves += moves.size();
+                final int pieceIndex = call % pieces.size();
+                moves.clear();
+                pieces.get(pieceIndex).legalMoves(pieceBoards.get(pieceIndex), moves);
+                generatedMoves += moves.size();
+            }
+            final long allocated = allocationBean.getCurrentThreadAllocatedBytes() - before;
+            System.out.printf(Locale.ROOT, "round %2d  %.3f bytes per call%n", round,
+                    (double) allocated / CALLS_PER_ALLOCATION_ROUND);
+            if(allocated == 0L) {
+                System.out.println("Generating into reused move lists allocates nothing (" + generatedMoves +
+                        " moves generated)");
+                return true;
+            }
+        }
+        System.out.println("Generating into reused move lists still allocates after " + MAX_ALLOCATION_ROUNDS +
+                " rounds, FAILED");
+        return false;
+    }
+
+    private static void printThroughput(final long nodes, final long elapsedNanos) {
+        final double seconds = Math.max(elapsedNanos, 1L) / 1e9;
+        System.out.printf(Locale.ROOT, "Time: %d ms%n", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        System.out.printf(Locale.ROOT, "Nodes per second: %.0f%n", nodes / seconds);
+    }
+}